@@ -0,0 +1,61 @@
+package fqme.benchmarks;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import fqme.benchmarks.models.OrderModel;
+import fqme.benchmarks.stub.StubResultSet;
+import fqme.model.Model;
+
+/**
+ * Shared data of benchmarks.
+ */
+public final class Fixtures {
+    /**
+     * Labels of {@link OrderModel} columns as returned by the database.
+     */
+    public static final String[] ORDER_LABELS = { "id", "number", "quantity", "price", "paid", "created" };
+
+    /* Prevent the Fixtures class from being instantiated. */
+    private Fixtures() {
+    }
+
+    /**
+     * Register benchmark models. Safe to call many times.
+     */
+    public static void registerModels() {
+        Model.register(OrderModel.class);
+    }
+
+    /**
+     * Create orders with ids.
+     *
+     * @param count number of orders
+     * @return a list of orders
+     */
+    public static List<OrderModel> orders(int count) {
+        LocalDateTime created = LocalDateTime.of(2023, 5, 1, 12, 0);
+        List<OrderModel> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            orders.add(new OrderModel(i + 1, "N-" + i, i % 7, i * 1.5, i % 2 == 0, created.plusMinutes(i)));
+        }
+        return orders;
+    }
+
+    /**
+     * Create a result set with order rows, as the driver returns them.
+     *
+     * @param count number of rows
+     * @return a result set
+     */
+    public static StubResultSet orderRows(int count) {
+        Timestamp created = Timestamp.valueOf(LocalDateTime.of(2023, 5, 1, 12, 0));
+        Object[][] rows = new Object[count][];
+        for (int i = 0; i < count; i++) {
+            rows[i] = new Object[] { i + 1, "N-" + i, i % 7, i * 1.5, i % 2 == 0, created };
+        }
+        return new StubResultSet(ORDER_LABELS, rows);
+    }
+}
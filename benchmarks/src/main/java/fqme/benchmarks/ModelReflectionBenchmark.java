@@ -0,0 +1,53 @@
+package fqme.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fqme.benchmarks.models.OrderModel;
+import fqme.model.Model;
+import fqme.model.reflection.ModelReflection;
+
+/**
+ * Cost of reading fields of a model and creating a model from values.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelReflectionBenchmark {
+    private ModelReflection<OrderModel> modelReflection;
+
+    private OrderModel order;
+
+    private Object[] values;
+
+    @Setup
+    public void setup() {
+        Fixtures.registerModels();
+        modelReflection = Model.getModelReflection(OrderModel.class);
+        order = Fixtures.orders(1).get(0);
+        values = modelReflection.getFieldsSupplier().getFieldsValues(order);
+    }
+
+    @Benchmark
+    public Object[] getFieldsValues() {
+        return modelReflection.getFieldsSupplier().getFieldsValues(order);
+    }
+
+    @Benchmark
+    public OrderModel fromFields() {
+        return modelReflection.getModelFactory().fromFields(values);
+    }
+}
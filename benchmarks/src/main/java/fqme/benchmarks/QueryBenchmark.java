@@ -0,0 +1,63 @@
+package fqme.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fqme.benchmarks.models.OrderModel;
+import fqme.query.Query;
+
+/**
+ * Cost of composing queries and rendering their where clause.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+    /**
+     * Number of composed clauses.
+     */
+    @Param({ "10", "1000", "5000" })
+    public int clauses;
+
+    @Benchmark
+    public String andChain() {
+        Query query = OrderModel.quantity_.eq(0);
+        for (int i = 1; i < clauses; i++) {
+            query = query.and(OrderModel.quantity_.eq(i));
+        }
+        return query.getWhereClause();
+    }
+
+    @Benchmark
+    public String orChain() {
+        Query query = OrderModel.quantity_.eq(0);
+        for (int i = 1; i < clauses; i++) {
+            query = query.or(OrderModel.quantity_.eq(i));
+        }
+        return query.getWhereClause();
+    }
+
+    @Benchmark
+    public String all() {
+        List<Query> queries = new ArrayList<>(clauses);
+        for (int i = 0; i < clauses; i++) {
+            queries.add(OrderModel.quantity_.eq(i));
+        }
+        return Query.all(queries).getWhereClause();
+    }
+}
@@ -0,0 +1,68 @@
+package fqme.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import fqme.benchmarks.models.OrderModel;
+import fqme.benchmarks.stub.StubConnection;
+import fqme.benchmarks.stub.StubResultSet;
+import fqme.model.Model;
+import fqme.view.RowMapper;
+import fqme.view.View;
+
+/**
+ * Cost of decoding rows of a result set into models.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMappingBenchmark {
+    /**
+     * Number of rows in the result set.
+     */
+    @Param({ "1000" })
+    public int rows;
+
+    private View<OrderModel> view;
+
+    private StubResultSet resultSet;
+
+    @Setup
+    public void setup() throws Exception {
+        Fixtures.registerModels();
+        resultSet = Fixtures.orderRows(rows);
+        view = View.of(OrderModel.class, new StubConnection(resultSet));
+    }
+
+    @Benchmark
+    public void buildModelFromResultSet(Blackhole blackhole) throws Exception {
+        resultSet.beforeFirst();
+        while (resultSet.next()) {
+            blackhole.consume(view.buildModelFromResultSet(resultSet));
+        }
+    }
+
+    @Benchmark
+    public void rowMapper(Blackhole blackhole) throws Exception {
+        resultSet.beforeFirst();
+        RowMapper<OrderModel> rowMapper = RowMapper.of(Model.getModelReflection(OrderModel.class), resultSet);
+        while (resultSet.next()) {
+            blackhole.consume(rowMapper.map(resultSet));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package fqme.benchmarks;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fqme.benchmarks.models.OrderModel;
+import fqme.benchmarks.stub.StubConnection;
+import fqme.model.Model;
+import fqme.query.Query;
+import fqme.view.StatementBuilder;
+
+/**
+ * Cost of building put and get statements, without executing them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatementBuilderBenchmark {
+    /**
+     * Number of models in a multi-row put.
+     */
+    @Param({ "1", "100" })
+    public int rows;
+
+    private StatementBuilder<OrderModel> statementBuilder;
+
+    private OrderModel order;
+
+    private List<Object[]> ordersValues;
+
+    @Setup
+    public void setup() {
+        Fixtures.registerModels();
+        statementBuilder = new StatementBuilder<>(Model.getModelReflection(OrderModel.class), new StubConnection());
+        order = Fixtures.orders(1).get(0);
+        ordersValues = Fixtures.orders(rows).stream()
+                .map(Model.getModelReflection(OrderModel.class).getFieldsSupplier()::getFieldsValues)
+                .toList();
+    }
+
+    @Benchmark
+    public PreparedStatement buildPutStatement() throws Exception {
+        return statementBuilder.buildPutStatement(order);
+    }
+
+    @Benchmark
+    public PreparedStatement buildMultiRowPutStatement() throws Exception {
+        return statementBuilder.buildPutStatement(ordersValues);
+    }
+
+    @Benchmark
+    public PreparedStatement buildGetStatement() throws Exception {
+        Query query = OrderModel.quantity_.gt(3).and(OrderModel.paid_.isTrue());
+        return statementBuilder.buildGetStatement(query);
+    }
+}
@@ -0,0 +1,52 @@
+package fqme.benchmarks.models;
+
+import java.time.LocalDateTime;
+
+import fqme.column.common.BooleanColumn;
+import fqme.column.common.DateTimeColumn;
+import fqme.column.common.StringColumn;
+import fqme.column.common.numeric.DoubleColumn;
+import fqme.column.common.numeric.IntegerColumn;
+import fqme.column.common.numeric.SerialColumn;
+import fqme.model.Model;
+import fqme.model.reflection.ColumnData;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Model with a column of every common type, used by benchmarks.
+ */
+@Data
+@AllArgsConstructor
+@RequiredArgsConstructor
+public class OrderModel extends Model<OrderModel> {
+    @ColumnData
+    private Integer id;
+    public static final SerialColumn id_ = SerialColumn.of("id").primary();
+
+    @ColumnData
+    @NonNull
+    private String number;
+    public static final StringColumn number_ = StringColumn.of("number").nullable(false);
+
+    @ColumnData
+    @NonNull
+    private Integer quantity;
+    public static final IntegerColumn quantity_ = IntegerColumn.of("quantity").nullable(false);
+
+    @ColumnData
+    @NonNull
+    private Double price;
+    public static final DoubleColumn price_ = DoubleColumn.of("price").nullable(false);
+
+    @ColumnData
+    @NonNull
+    private Boolean paid;
+    public static final BooleanColumn paid_ = BooleanColumn.of("paid").nullable(false);
+
+    @ColumnData
+    private LocalDateTime created;
+    public static final DateTimeColumn created_ = DateTimeColumn.of("created");
+}
@@ -0,0 +1,939 @@
+package fqme.benchmarks.stub;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * In-memory result set over a fixed array of rows.
+ *
+ * Values are stored as the driver returns them from
+ * {@link ResultSet#getObject(int)}, typed getters convert them.
+ */
+public class StubResultSet implements ResultSet {
+    /**
+     * Labels of the columns.
+     */
+    private final String[] labels;
+
+    /**
+     * Rows of the result set, each row has a value for every label.
+     */
+    private final Object[][] rows;
+
+    /**
+     * Index of the current row.
+     */
+    private int cursor = -1;
+
+    /**
+     * Define if the last read value was null.
+     */
+    private boolean lastNull = false;
+
+    /**
+     * Create a result set.
+     *
+     * @param labels labels of the columns
+     * @param rows   rows of the result set
+     */
+    public StubResultSet(String[] labels, Object[][] rows) {
+        this.labels = labels;
+        this.rows = rows;
+    }
+
+    /**
+     * Move cursor before the first row, so the result set can be read again.
+     */
+    @Override
+    public void beforeFirst() {
+        cursor = -1;
+    }
+
+    @Override
+    public boolean next() {
+        return ++cursor < rows.length;
+    }
+
+    @Override
+    public boolean wasNull() {
+        return lastNull;
+    }
+
+    @Override
+    public int findColumn(String label) throws SQLException {
+        for (int index = 0; index < labels.length; index++) {
+            if (labels[index].equalsIgnoreCase(label)) {
+                return index + 1;
+            }
+        }
+        throw new SQLException("Column %s not found".formatted(label));
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() {
+        return new StubResultSetMetaData(labels);
+    }
+
+    @Override
+    public Object getObject(int index) {
+        Object value = rows[cursor][index - 1];
+        lastNull = value == null;
+        return value;
+    }
+
+    @Override
+    public Object getObject(String label) throws SQLException {
+        return getObject(findColumn(label));
+    }
+
+    @Override
+    public int getInt(int index) {
+        Object value = getObject(index);
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+
+    @Override
+    public long getLong(int index) {
+        Object value = getObject(index);
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    @Override
+    public double getDouble(int index) {
+        Object value = getObject(index);
+        return value == null ? 0 : ((Number) value).doubleValue();
+    }
+
+    @Override
+    public float getFloat(int index) {
+        Object value = getObject(index);
+        return value == null ? 0 : ((Number) value).floatValue();
+    }
+
+    @Override
+    public boolean getBoolean(int index) {
+        Object value = getObject(index);
+        return value != null && (Boolean) value;
+    }
+
+    @Override
+    public String getString(int index) {
+        Object value = getObject(index);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public Timestamp getTimestamp(int index) {
+        return (Timestamp) getObject(index);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean isClosed() {
+        return false;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) {
+        return iface.cast(this);
+    }
+
+    @Override
+    public boolean absolute(int arg0) {
+        return false;
+    }
+
+    @Override
+    public void afterLast() {
+    }
+
+    @Override
+    public void cancelRowUpdates() {
+    }
+
+    @Override
+    public void clearWarnings() {
+    }
+
+    @Override
+    public void deleteRow() {
+    }
+
+    @Override
+    public boolean first() {
+        return false;
+    }
+
+    @Override
+    public Array getArray(String arg0) {
+        return null;
+    }
+
+    @Override
+    public Array getArray(int arg0) {
+        return null;
+    }
+
+    @Override
+    public InputStream getAsciiStream(String arg0) {
+        return null;
+    }
+
+    @Override
+    public InputStream getAsciiStream(int arg0) {
+        return null;
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String arg0, int arg1) {
+        return null;
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String arg0) {
+        return null;
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int arg0, int arg1) {
+        return null;
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int arg0) {
+        return null;
+    }
+
+    @Override
+    public InputStream getBinaryStream(String arg0) {
+        return null;
+    }
+
+    @Override
+    public InputStream getBinaryStream(int arg0) {
+        return null;
+    }
+
+    @Override
+    public Blob getBlob(String arg0) {
+        return null;
+    }
+
+    @Override
+    public Blob getBlob(int arg0) {
+        return null;
+    }
+
+    @Override
+    public boolean getBoolean(String arg0) {
+        return false;
+    }
+
+    @Override
+    public byte getByte(String arg0) {
+        return 0;
+    }
+
+    @Override
+    public byte getByte(int arg0) {
+        return 0;
+    }
+
+    @Override
+    public byte[] getBytes(String arg0) {
+        return null;
+    }
+
+    @Override
+    public byte[] getBytes(int arg0) {
+        return null;
+    }
+
+    @Override
+    public Reader getCharacterStream(String arg0) {
+        return null;
+    }
+
+    @Override
+    public Reader getCharacterStream(int arg0) {
+        return null;
+    }
+
+    @Override
+    public Clob getClob(String arg0) {
+        return null;
+    }
+
+    @Override
+    public Clob getClob(int arg0) {
+        return null;
+    }
+
+    @Override
+    public int getConcurrency() {
+        return 0;
+    }
+
+    @Override
+    public String getCursorName() {
+        return null;
+    }
+
+    @Override
+    public Date getDate(String arg0, Calendar arg1) {
+        return null;
+    }
+
+    @Override
+    public Date getDate(String arg0) {
+        return null;
+    }
+
+    @Override
+    public Date getDate(int arg0, Calendar arg1) {
+        return null;
+    }
+
+    @Override
+    public Date getDate(int arg0) {
+        return null;
+    }
+
+    @Override
+    public double getDouble(String arg0) {
+        return 0;
+    }
+
+    @Override
+    public int getFetchDirection() {
+        return 0;
+    }
+
+    @Override
+    public int getFetchSize() {
+        return 0;
+    }
+
+    @Override
+    public float getFloat(String arg0) {
+        return 0;
+    }
+
+    @Override
+    public int getHoldability() {
+        return 0;
+    }
+
+    @Override
+    public int getInt(String arg0) {
+        return 0;
+    }
+
+    @Override
+    public long getLong(String arg0) {
+        return 0;
+    }
+
+    @Override
+    public Reader getNCharacterStream(String arg0) {
+        return null;
+    }
+
+    @Override
+    public Reader getNCharacterStream(int arg0) {
+        return null;
+    }
+
+    @Override
+    public NClob getNClob(String arg0) {
+        return null;
+    }
+
+    @Override
+    public NClob getNClob(int arg0) {
+        return null;
+    }
+
+    @Override
+    public String getNString(String arg0) {
+        return null;
+    }
+
+    @Override
+    public String getNString(int arg0) {
+        return null;
+    }
+
+    @Override
+    public <T> T getObject(String arg0, Class<T> arg1) {
+        return null;
+    }
+
+    @Override
+    public Object getObject(String arg0, Map<String, Class<?>> arg1) {
+        return null;
+    }
+
+    @Override
+    public <T> T getObject(int arg0, Class<T> arg1) {
+        return null;
+    }
+
+    @Override
+    public Object getObject(int arg0, Map<String, Class<?>> arg1) {
+        return null;
+    }
+
+    @Override
+    public Ref getRef(String arg0) {
+        return null;
+    }
+
+    @Override
+    public Ref getRef(int arg0) {
+        return null;
+    }
+
+    @Override
+    public int getRow() {
+        return 0;
+    }
+
+    @Override
+    public RowId getRowId(String arg0) {
+        return null;
+    }
+
+    @Override
+    public RowId getRowId(int arg0) {
+        return null;
+    }
+
+    @Override
+    public SQLXML getSQLXML(String arg0) {
+        return null;
+    }
+
+    @Override
+    public SQLXML getSQLXML(int arg0) {
+        return null;
+    }
+
+    @Override
+    public short getShort(String arg0) {
+        return 0;
+    }
+
+    @Override
+    public short getShort(int arg0) {
+        return 0;
+    }
+
+    @Override
+    public Statement getStatement() {
+        return null;
+    }
+
+    @Override
+    public String getString(String arg0) {
+        return null;
+    }
+
+    @Override
+    public Time getTime(String arg0, Calendar arg1) {
+        return null;
+    }
+
+    @Override
+    public Time getTime(String arg0) {
+        return null;
+    }
+
+    @Override
+    public Time getTime(int arg0, Calendar arg1) {
+        return null;
+    }
+
+    @Override
+    public Time getTime(int arg0) {
+        return null;
+    }
+
+    @Override
+    public Timestamp getTimestamp(String arg0, Calendar arg1) {
+        return null;
+    }
+
+    @Override
+    public Timestamp getTimestamp(String arg0) {
+        return null;
+    }
+
+    @Override
+    public Timestamp getTimestamp(int arg0, Calendar arg1) {
+        return null;
+    }
+
+    @Override
+    public int getType() {
+        return 0;
+    }
+
+    @Override
+    public URL getURL(String arg0) {
+        return null;
+    }
+
+    @Override
+    public URL getURL(int arg0) {
+        return null;
+    }
+
+    @Override
+    public InputStream getUnicodeStream(String arg0) {
+        return null;
+    }
+
+    @Override
+    public InputStream getUnicodeStream(int arg0) {
+        return null;
+    }
+
+    @Override
+    public SQLWarning getWarnings() {
+        return null;
+    }
+
+    @Override
+    public void insertRow() {
+    }
+
+    @Override
+    public boolean isAfterLast() {
+        return false;
+    }
+
+    @Override
+    public boolean isBeforeFirst() {
+        return false;
+    }
+
+    @Override
+    public boolean isFirst() {
+        return false;
+    }
+
+    @Override
+    public boolean isLast() {
+        return false;
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> arg0) {
+        return false;
+    }
+
+    @Override
+    public boolean last() {
+        return false;
+    }
+
+    @Override
+    public void moveToCurrentRow() {
+    }
+
+    @Override
+    public void moveToInsertRow() {
+    }
+
+    @Override
+    public boolean previous() {
+        return false;
+    }
+
+    @Override
+    public void refreshRow() {
+    }
+
+    @Override
+    public boolean relative(int arg0) {
+        return false;
+    }
+
+    @Override
+    public boolean rowDeleted() {
+        return false;
+    }
+
+    @Override
+    public boolean rowInserted() {
+        return false;
+    }
+
+    @Override
+    public boolean rowUpdated() {
+        return false;
+    }
+
+    @Override
+    public void setFetchDirection(int arg0) {
+    }
+
+    @Override
+    public void setFetchSize(int arg0) {
+    }
+
+    @Override
+    public void updateArray(String arg0, Array arg1) {
+    }
+
+    @Override
+    public void updateArray(int arg0, Array arg1) {
+    }
+
+    @Override
+    public void updateAsciiStream(String arg0, InputStream arg1, int arg2) {
+    }
+
+    @Override
+    public void updateAsciiStream(String arg0, InputStream arg1, long arg2) {
+    }
+
+    @Override
+    public void updateAsciiStream(String arg0, InputStream arg1) {
+    }
+
+    @Override
+    public void updateAsciiStream(int arg0, InputStream arg1, int arg2) {
+    }
+
+    @Override
+    public void updateAsciiStream(int arg0, InputStream arg1, long arg2) {
+    }
+
+    @Override
+    public void updateAsciiStream(int arg0, InputStream arg1) {
+    }
+
+    @Override
+    public void updateBigDecimal(String arg0, BigDecimal arg1) {
+    }
+
+    @Override
+    public void updateBigDecimal(int arg0, BigDecimal arg1) {
+    }
+
+    @Override
+    public void updateBinaryStream(String arg0, InputStream arg1, int arg2) {
+    }
+
+    @Override
+    public void updateBinaryStream(String arg0, InputStream arg1, long arg2) {
+    }
+
+    @Override
+    public void updateBinaryStream(String arg0, InputStream arg1) {
+    }
+
+    @Override
+    public void updateBinaryStream(int arg0, InputStream arg1, int arg2) {
+    }
+
+    @Override
+    public void updateBinaryStream(int arg0, InputStream arg1, long arg2) {
+    }
+
+    @Override
+    public void updateBinaryStream(int arg0, InputStream arg1) {
+    }
+
+    @Override
+    public void updateBlob(String arg0, InputStream arg1, long arg2) {
+    }
+
+    @Override
+    public void updateBlob(String arg0, InputStream arg1) {
+    }
+
+    @Override
+    public void updateBlob(String arg0, Blob arg1) {
+    }
+
+    @Override
+    public void updateBlob(int arg0, InputStream arg1, long arg2) {
+    }
+
+    @Override
+    public void updateBlob(int arg0, InputStream arg1) {
+    }
+
+    @Override
+    public void updateBlob(int arg0, Blob arg1) {
+    }
+
+    @Override
+    public void updateBoolean(String arg0, boolean arg1) {
+    }
+
+    @Override
+    public void updateBoolean(int arg0, boolean arg1) {
+    }
+
+    @Override
+    public void updateByte(String arg0, byte arg1) {
+    }
+
+    @Override
+    public void updateByte(int arg0, byte arg1) {
+    }
+
+    @Override
+    public void updateBytes(String arg0, byte[] arg1) {
+    }
+
+    @Override
+    public void updateBytes(int arg0, byte[] arg1) {
+    }
+
+    @Override
+    public void updateCharacterStream(String arg0, Reader arg1, int arg2) {
+    }
+
+    @Override
+    public void updateCharacterStream(String arg0, Reader arg1, long arg2) {
+    }
+
+    @Override
+    public void updateCharacterStream(String arg0, Reader arg1) {
+    }
+
+    @Override
+    public void updateCharacterStream(int arg0, Reader arg1, int arg2) {
+    }
+
+    @Override
+    public void updateCharacterStream(int arg0, Reader arg1, long arg2) {
+    }
+
+    @Override
+    public void updateCharacterStream(int arg0, Reader arg1) {
+    }
+
+    @Override
+    public void updateClob(String arg0, Reader arg1, long arg2) {
+    }
+
+    @Override
+    public void updateClob(String arg0, Reader arg1) {
+    }
+
+    @Override
+    public void updateClob(String arg0, Clob arg1) {
+    }
+
+    @Override
+    public void updateClob(int arg0, Reader arg1, long arg2) {
+    }
+
+    @Override
+    public void updateClob(int arg0, Reader arg1) {
+    }
+
+    @Override
+    public void updateClob(int arg0, Clob arg1) {
+    }
+
+    @Override
+    public void updateDate(String arg0, Date arg1) {
+    }
+
+    @Override
+    public void updateDate(int arg0, Date arg1) {
+    }
+
+    @Override
+    public void updateDouble(String arg0, double arg1) {
+    }
+
+    @Override
+    public void updateDouble(int arg0, double arg1) {
+    }
+
+    @Override
+    public void updateFloat(String arg0, float arg1) {
+    }
+
+    @Override
+    public void updateFloat(int arg0, float arg1) {
+    }
+
+    @Override
+    public void updateInt(String arg0, int arg1) {
+    }
+
+    @Override
+    public void updateInt(int arg0, int arg1) {
+    }
+
+    @Override
+    public void updateLong(String arg0, long arg1) {
+    }
+
+    @Override
+    public void updateLong(int arg0, long arg1) {
+    }
+
+    @Override
+    public void updateNCharacterStream(String arg0, Reader arg1, long arg2) {
+    }
+
+    @Override
+    public void updateNCharacterStream(String arg0, Reader arg1) {
+    }
+
+    @Override
+    public void updateNCharacterStream(int arg0, Reader arg1, long arg2) {
+    }
+
+    @Override
+    public void updateNCharacterStream(int arg0, Reader arg1) {
+    }
+
+    @Override
+    public void updateNClob(String arg0, Reader arg1, long arg2) {
+    }
+
+    @Override
+    public void updateNClob(String arg0, Reader arg1) {
+    }
+
+    @Override
+    public void updateNClob(String arg0, NClob arg1) {
+    }
+
+    @Override
+    public void updateNClob(int arg0, Reader arg1, long arg2) {
+    }
+
+    @Override
+    public void updateNClob(int arg0, Reader arg1) {
+    }
+
+    @Override
+    public void updateNClob(int arg0, NClob arg1) {
+    }
+
+    @Override
+    public void updateNString(String arg0, String arg1) {
+    }
+
+    @Override
+    public void updateNString(int arg0, String arg1) {
+    }
+
+    @Override
+    public void updateNull(String arg0) {
+    }
+
+    @Override
+    public void updateNull(int arg0) {
+    }
+
+    @Override
+    public void updateObject(String arg0, Object arg1, int arg2) {
+    }
+
+    @Override
+    public void updateObject(String arg0, Object arg1) {
+    }
+
+    @Override
+    public void updateObject(int arg0, Object arg1, int arg2) {
+    }
+
+    @Override
+    public void updateObject(int arg0, Object arg1) {
+    }
+
+    @Override
+    public void updateRef(String arg0, Ref arg1) {
+    }
+
+    @Override
+    public void updateRef(int arg0, Ref arg1) {
+    }
+
+    @Override
+    public void updateRow() {
+    }
+
+    @Override
+    public void updateRowId(String arg0, RowId arg1) {
+    }
+
+    @Override
+    public void updateRowId(int arg0, RowId arg1) {
+    }
+
+    @Override
+    public void updateSQLXML(String arg0, SQLXML arg1) {
+    }
+
+    @Override
+    public void updateSQLXML(int arg0, SQLXML arg1) {
+    }
+
+    @Override
+    public void updateShort(String arg0, short arg1) {
+    }
+
+    @Override
+    public void updateShort(int arg0, short arg1) {
+    }
+
+    @Override
+    public void updateString(String arg0, String arg1) {
+    }
+
+    @Override
+    public void updateString(int arg0, String arg1) {
+    }
+
+    @Override
+    public void updateTime(String arg0, Time arg1) {
+    }
+
+    @Override
+    public void updateTime(int arg0, Time arg1) {
+    }
+
+    @Override
+    public void updateTimestamp(String arg0, Timestamp arg1) {
+    }
+
+    @Override
+    public void updateTimestamp(int arg0, Timestamp arg1) {
+    }
+}
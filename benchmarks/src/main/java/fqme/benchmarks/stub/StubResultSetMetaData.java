@@ -0,0 +1,137 @@
+package fqme.benchmarks.stub;
+
+import java.sql.ResultSetMetaData;
+
+/**
+ * Metadata of {@link StubResultSet} columns.
+ */
+public class StubResultSetMetaData implements ResultSetMetaData {
+    /**
+     * Labels of the columns.
+     */
+    private final String[] labels;
+
+    /**
+     * Create metadata of columns with labels.
+     *
+     * @param labels labels of the columns
+     */
+    public StubResultSetMetaData(String[] labels) {
+        this.labels = labels;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return labels.length;
+    }
+
+    @Override
+    public String getColumnLabel(int index) {
+        return labels[index - 1];
+    }
+
+    @Override
+    public String getColumnName(int index) {
+        return labels[index - 1];
+    }
+
+    @Override
+    public String getCatalogName(int arg0) {
+        return null;
+    }
+
+    @Override
+    public String getColumnClassName(int arg0) {
+        return null;
+    }
+
+    @Override
+    public int getColumnDisplaySize(int arg0) {
+        return 0;
+    }
+
+    @Override
+    public int getColumnType(int arg0) {
+        return 0;
+    }
+
+    @Override
+    public String getColumnTypeName(int arg0) {
+        return null;
+    }
+
+    @Override
+    public int getPrecision(int arg0) {
+        return 0;
+    }
+
+    @Override
+    public int getScale(int arg0) {
+        return 0;
+    }
+
+    @Override
+    public String getSchemaName(int arg0) {
+        return null;
+    }
+
+    @Override
+    public String getTableName(int arg0) {
+        return null;
+    }
+
+    @Override
+    public boolean isAutoIncrement(int arg0) {
+        return false;
+    }
+
+    @Override
+    public boolean isCaseSensitive(int arg0) {
+        return false;
+    }
+
+    @Override
+    public boolean isCurrency(int arg0) {
+        return false;
+    }
+
+    @Override
+    public boolean isDefinitelyWritable(int arg0) {
+        return false;
+    }
+
+    @Override
+    public int isNullable(int arg0) {
+        return 0;
+    }
+
+    @Override
+    public boolean isReadOnly(int arg0) {
+        return false;
+    }
+
+    @Override
+    public boolean isSearchable(int arg0) {
+        return false;
+    }
+
+    @Override
+    public boolean isSigned(int arg0) {
+        return false;
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> arg0) {
+        return false;
+    }
+
+    @Override
+    public boolean isWritable(int arg0) {
+        return false;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> arg0) {
+        return null;
+    }
+}
@@ -0,0 +1,104 @@
+package fqme.cache;
+
+import java.time.Duration;
+import java.util.function.ToLongFunction;
+
+import lombok.Getter;
+
+/**
+ * Settings of an {@link EntityCache}.
+ *
+ * Settings are defined with chained methods, like columns:
+ *
+ * <pre>
+ * {@code
+ * CacheConfig cacheConfig = CacheConfig.defaults()
+ *         .maximumSize(50_000)
+ *         .timeToLive(Duration.ofMinutes(5));
+ * }
+ * </pre>
+ */
+@Getter
+public class CacheConfig {
+    /**
+     * Maximum number of cached models. Default is 10000.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Maximum total weight of cached models. Default is unbounded.
+     */
+    private long maximumWeight = Long.MAX_VALUE;
+
+    /**
+     * Function computing weight of a cached model. Models are cached as
+     * arrays of their fields values, so the function receives an
+     * {@code Object[]}. Default weight is 1.
+     */
+    private ToLongFunction<Object> weigher = fieldsValues -> 1;
+
+    /**
+     * Time after which a cached model expires once it is written to the cache.
+     * Default is 10 minutes.
+     */
+    private Duration timeToLive = Duration.ofMinutes(10);
+
+    /**
+     * Create settings with default values.
+     *
+     * @return new settings
+     */
+    public static CacheConfig defaults() {
+        return new CacheConfig();
+    }
+
+    /**
+     * Define maximum number of cached models.
+     *
+     * @param maximumSize maximum number of cached models.
+     * @return this.
+     * @throws IllegalArgumentException if value is not positive.
+     */
+    public CacheConfig maximumSize(long maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.maximumSize = maximumSize;
+        return this;
+    }
+
+    /**
+     * Define maximum total weight of cached models.
+     *
+     * @param maximumWeight maximum total weight.
+     * @param weigher       function computing weight of fields values of a
+     *                      model, given as an {@code Object[]}.
+     * @return this.
+     * @throws IllegalArgumentException if weight is not positive.
+     */
+    public CacheConfig maximumWeight(long maximumWeight, ToLongFunction<Object> weigher) {
+        if (maximumWeight < 1) {
+            throw new IllegalArgumentException("Maximum weight must be positive");
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        return this;
+    }
+
+    /**
+     * Define time after which a cached model expires.
+     *
+     * Time to live longer than about 292 years means no expiration.
+     *
+     * @param timeToLive time to live.
+     * @return this.
+     * @throws IllegalArgumentException if value is negative.
+     */
+    public CacheConfig timeToLive(Duration timeToLive) {
+        if (timeToLive.isNegative()) {
+            throw new IllegalArgumentException("Time to live must not be negative");
+        }
+        this.timeToLive = timeToLive;
+        return this;
+    }
+}
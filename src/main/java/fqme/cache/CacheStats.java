@@ -0,0 +1,44 @@
+package fqme.cache;
+
+import lombok.Data;
+
+/**
+ * Snapshot of {@link EntityCache} counters.
+ */
+@Data
+public class CacheStats {
+    /**
+     * Number of lookups served from the cache.
+     */
+    private final long hits;
+
+    /**
+     * Number of lookups not found in the cache or expired.
+     */
+    private final long misses;
+
+    /**
+     * Number of models evicted by size or weight limits.
+     */
+    private final long evictions;
+
+    /**
+     * Number of cached models.
+     */
+    private final long size;
+
+    /**
+     * Total weight of cached models.
+     */
+    private final long weight;
+
+    /**
+     * Ratio of lookups served from the cache.
+     *
+     * @return hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
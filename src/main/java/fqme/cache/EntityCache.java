@@ -0,0 +1,579 @@
+package fqme.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.Data;
+import lombok.Getter;
+
+/**
+ * Bounded cache of models shared between views and threads.
+ *
+ * Values are keyed by model class and primary key. Eviction follows
+ * W-TinyLFU: new values enter a small LRU window, values leaving the window
+ * compete with the least recently used value of the main space, and the one
+ * with lower estimated access frequency (see {@link FrequencySketch}) is
+ * evicted. Main space is a segmented LRU, values accessed again are moved to
+ * its protected segment. So a burst of one-time reads does not flush a hot
+ * working set.
+ *
+ * Lookups do not block: reordering after a hit is skipped if another thread
+ * holds the lock. Writes and invalidations are serialized by the lock.
+ * Values expire after {@link CacheConfig#getTimeToLive()} since they are
+ * written, expired values are dropped on lookup or by {@link #cleanUp()}.
+ *
+ * A value read from the database may be stale when it is put, if the row was
+ * written and invalidated during the read. Readers take a
+ * {@link #stamp(Class)} of the model class before the read and put the value
+ * with it, such a put is skipped if any value of the class was invalidated
+ * since the stamp. Writes of other model classes do not reject the put.
+ *
+ * @see fqme.view.View#withCache(EntityCache)
+ */
+public class EntityCache {
+    /**
+     * Share of maximum size given to the window.
+     */
+    private static final double WINDOW_RATIO = 0.01;
+
+    /**
+     * Share of main space given to the protected segment.
+     */
+    private static final double PROTECTED_RATIO = 0.8;
+
+    /**
+     * Cache settings.
+     */
+    @Getter
+    private final CacheConfig cacheConfig;
+
+    /**
+     * Cached values.
+     */
+    private final Map<CacheKey, Node> data = new ConcurrentHashMap<>();
+
+    /**
+     * Lock guarding queues, sketch and weight.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Access frequency of keys.
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * Recently added values.
+     */
+    private final AccessQueue window = new AccessQueue();
+
+    /**
+     * Values of main space accessed once since they left the window.
+     */
+    private final AccessQueue probation = new AccessQueue();
+
+    /**
+     * Values of main space accessed more than once.
+     */
+    private final AccessQueue protectedQueue = new AccessQueue();
+
+    /**
+     * Maximum number of values in the window.
+     */
+    private final long windowMaxSize;
+
+    /**
+     * Maximum number of values in the protected segment.
+     */
+    private final long protectedMaxSize;
+
+    /**
+     * Total weight of cached values.
+     */
+    private long weight = 0;
+
+    /**
+     * Number of invalidations by model classes, written under the lock.
+     */
+    private final Map<Class<?>, Long> invalidations = new ConcurrentHashMap<>();
+
+    /**
+     * Number of invalidations of all values, written under the lock.
+     */
+    private volatile long clears = 0;
+
+    /**
+     * Number of lookups served from the cache.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Number of lookups not served from the cache.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Number of values evicted by limits.
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create a cache.
+     *
+     * @param cacheConfig cache settings
+     */
+    public EntityCache(CacheConfig cacheConfig) {
+        this.cacheConfig = cacheConfig;
+        this.sketch = new FrequencySketch(cacheConfig.getMaximumSize());
+        this.windowMaxSize = Math.max(1, (long) (cacheConfig.getMaximumSize() * WINDOW_RATIO));
+        this.protectedMaxSize = (long) ((cacheConfig.getMaximumSize() - windowMaxSize) * PROTECTED_RATIO);
+    }
+
+    /**
+     * Create a cache with settings.
+     *
+     * @param cacheConfig cache settings
+     * @return a cache
+     */
+    public static EntityCache of(CacheConfig cacheConfig) {
+        return new EntityCache(cacheConfig);
+    }
+
+    /**
+     * Get a cached value.
+     *
+     * @param modelClass a model class
+     * @param primaryKey values of primary columns
+     * @return a value or null if it is not cached or expired
+     */
+    public Object get(Class<?> modelClass, List<Object> primaryKey) {
+        CacheKey key = new CacheKey(modelClass, primaryKey);
+        Node node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            recordAccess(key, null);
+            return null;
+        }
+        if (node.isExpired(System.nanoTime())) {
+            misses.increment();
+            lock.lock();
+            try {
+                if (data.remove(key, node)) {
+                    removeNode(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+            return null;
+        }
+        hits.increment();
+        recordAccess(key, node);
+        return node.value;
+    }
+
+    /**
+     * Get a stamp of a model class to take before reading a value to put.
+     *
+     * @see #put(Class, List, Object, long)
+     *
+     * @param modelClass a model class
+     * @return current stamp
+     */
+    public long stamp(Class<?> modelClass) {
+        return clears + invalidations.getOrDefault(modelClass, 0L);
+    }
+
+    /**
+     * Put a value to the cache, evicting other values if limits are exceeded.
+     *
+     * @param modelClass a model class
+     * @param primaryKey values of primary columns
+     * @param value      a value
+     */
+    public void put(Class<?> modelClass, List<Object> primaryKey, Object value) {
+        CacheKey key = new CacheKey(modelClass, primaryKey);
+        long valueWeight = cacheConfig.getWeigher().applyAsLong(value);
+        long expiresAt = getExpirationTime();
+
+        lock.lock();
+        try {
+            write(key, value, valueWeight, expiresAt);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Put a value read after a stamp was taken, unless any value of the model
+     * class was invalidated since then.
+     *
+     * @param modelClass a model class
+     * @param primaryKey values of primary columns
+     * @param value      a value
+     * @param stamp      a stamp taken before the value was read
+     * @return true if the value is put
+     */
+    public boolean put(Class<?> modelClass, List<Object> primaryKey, Object value, long stamp) {
+        CacheKey key = new CacheKey(modelClass, primaryKey);
+        long valueWeight = cacheConfig.getWeigher().applyAsLong(value);
+        long expiresAt = getExpirationTime();
+
+        lock.lock();
+        try {
+            if (stamp(modelClass) != stamp) {
+                return false;
+            }
+            write(key, value, valueWeight, expiresAt);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a value from the cache.
+     *
+     * @param modelClass a model class
+     * @param primaryKey values of primary columns
+     */
+    public void invalidate(Class<?> modelClass, List<Object> primaryKey) {
+        CacheKey key = new CacheKey(modelClass, primaryKey);
+        lock.lock();
+        try {
+            invalidations.merge(modelClass, 1L, Long::sum);
+            Node node = data.remove(key);
+            if (node != null) {
+                removeNode(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove all values from the cache.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            clears++;
+            for (Node node : data.values()) {
+                removeNode(node);
+            }
+            data.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove expired values.
+     */
+    public void cleanUp() {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            for (Node node : data.values()) {
+                if (node.isExpired(now) && data.remove(node.key, node)) {
+                    removeNode(node);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get a snapshot of cache counters.
+     *
+     * @return cache stats
+     */
+    public CacheStats getStats() {
+        lock.lock();
+        try {
+            return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), data.size(), weight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Write a value under the lock.
+     *
+     * @param key         a key
+     * @param value       a value
+     * @param valueWeight weight of the value
+     * @param expiresAt   expiration time in nanoseconds
+     */
+    private void write(CacheKey key, Object value, long valueWeight, long expiresAt) {
+        Node node = data.get(key);
+        if (node != null) {
+            weight += valueWeight - node.weight;
+            node.value = value;
+            node.weight = valueWeight;
+            node.expiresAt = expiresAt;
+            onHit(node);
+        } else {
+            node = new Node(key, value, valueWeight, expiresAt);
+            data.put(key, node);
+            window.addLast(node);
+            weight += valueWeight;
+            sketch.increment(key);
+        }
+        evict();
+    }
+
+    /**
+     * Get expiration time of a value written now.
+     *
+     * Time to live too long for nanoseconds is saturated, such values never
+     * expire in practice, as expiration is compared by difference.
+     *
+     * @return expiration time in nanoseconds
+     */
+    private long getExpirationTime() {
+        long timeToLive;
+        try {
+            timeToLive = cacheConfig.getTimeToLive().toNanos();
+        } catch (ArithmeticException e) {
+            timeToLive = Long.MAX_VALUE;
+        }
+        return System.nanoTime() + timeToLive;
+    }
+
+    /**
+     * Record access to a key if the lock is free.
+     *
+     * @param key  a key
+     * @param node a node of the key or null on miss
+     */
+    private void recordAccess(CacheKey key, Node node) {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.increment(key);
+            if (node != null && node.queue != null) {
+                onHit(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reorder a node after access, promoting probation nodes to the
+     * protected segment.
+     *
+     * @param node an accessed node
+     */
+    private void onHit(Node node) {
+        if (node.queue != probation) {
+            node.queue.moveToLast(node);
+            return;
+        }
+        probation.remove(node);
+        protectedQueue.addLast(node);
+        while (protectedQueue.size > protectedMaxSize) {
+            Node demoted = protectedQueue.head;
+            protectedQueue.remove(demoted);
+            probation.addLast(demoted);
+        }
+    }
+
+    /**
+     * Move overflow of the window to probation and evict values until limits
+     * are satisfied.
+     */
+    private void evict() {
+        while (window.size > windowMaxSize) {
+            Node node = window.head;
+            window.remove(node);
+            probation.addLast(node);
+        }
+
+        while (data.size() > cacheConfig.getMaximumSize() || weight > cacheConfig.getMaximumWeight()) {
+            Node victim = probation.head;
+            Node candidate = probation.tail;
+            Node evicted;
+            if (victim == null) {
+                evicted = protectedQueue.head != null ? protectedQueue.head : window.head;
+            } else if (victim == candidate) {
+                evicted = victim;
+            } else {
+                evicted = sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate;
+            }
+            data.remove(evicted.key, evicted);
+            removeNode(evicted);
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Unlink a node removed from data.
+     *
+     * @param node a node
+     */
+    private void removeNode(Node node) {
+        if (node.queue != null) {
+            node.queue.remove(node);
+            weight -= node.weight;
+        }
+    }
+
+    /**
+     * Key of a cached value.
+     */
+    @Data
+    private static class CacheKey {
+        /**
+         * A model class.
+         */
+        private final Class<?> modelClass;
+
+        /**
+         * Values of primary columns.
+         */
+        private final List<Object> primaryKey;
+    }
+
+    /**
+     * Cached value with its position in access queues.
+     */
+    private static class Node {
+        /**
+         * Key of the value.
+         */
+        private final CacheKey key;
+
+        /**
+         * A value.
+         */
+        private volatile Object value;
+
+        /**
+         * Weight of the value.
+         */
+        private long weight;
+
+        /**
+         * Expiration time in nanoseconds.
+         */
+        private volatile long expiresAt;
+
+        /**
+         * Queue the node belongs to, null if it is removed.
+         */
+        private AccessQueue queue;
+
+        /**
+         * Previous node in the queue.
+         */
+        private Node previous;
+
+        /**
+         * Next node in the queue.
+         */
+        private Node next;
+
+        /**
+         * Create a node.
+         *
+         * @param key       a key
+         * @param value     a value
+         * @param weight    weight of the value
+         * @param expiresAt expiration time in nanoseconds
+         */
+        private Node(CacheKey key, Object value, long weight, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Check if the value is expired.
+         *
+         * @param now current time in nanoseconds
+         * @return true if expired
+         */
+        private boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+
+    /**
+     * Doubly linked list of nodes from least to most recently used.
+     */
+    private static class AccessQueue {
+        /**
+         * Least recently used node.
+         */
+        private Node head;
+
+        /**
+         * Most recently used node.
+         */
+        private Node tail;
+
+        /**
+         * Number of nodes.
+         */
+        private long size = 0;
+
+        /**
+         * Append a node as the most recently used.
+         *
+         * @param node a node not linked to any queue
+         */
+        private void addLast(Node node) {
+            node.queue = this;
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        /**
+         * Unlink a node of this queue.
+         *
+         * @param node a node
+         */
+        private void remove(Node node) {
+            if (node.previous == null) {
+                head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.queue = null;
+            node.previous = null;
+            node.next = null;
+            size--;
+        }
+
+        /**
+         * Mark a node of this queue as the most recently used.
+         *
+         * @param node a node
+         */
+        private void moveToLast(Node node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package fqme.cache;
+
+/**
+ * Approximate access frequency of cache keys.
+ *
+ * Count-min sketch with four 4-bit counters per key, packed sixteen to a
+ * long. When the number of increments reaches ten times the cache size all
+ * counters are halved, so the history ages and recent popularity wins.
+ *
+ * Not thread-safe, guarded by the cache lock.
+ */
+class FrequencySketch {
+    /**
+     * Seeds of the hash functions.
+     */
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+    /**
+     * Mask clearing the high bit of every counter after a shift.
+     */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /**
+     * Maximum value of a counter.
+     */
+    private static final int MAX_FREQUENCY = 15;
+
+    /**
+     * Counters table, its length is a power of two.
+     */
+    private final long[] table;
+
+    /**
+     * Number of increments after which counters are halved.
+     */
+    private final int sampleSize;
+
+    /**
+     * Number of increments since the last reset.
+     */
+    private int size = 0;
+
+    /**
+     * Create a sketch for a cache size.
+     *
+     * @param maximumSize maximum number of cached keys
+     */
+    FrequencySketch(long maximumSize) {
+        int capacity = (int) Math.min(Math.max(maximumSize, 16), 1 << 20);
+        this.table = new long[Integer.highestOneBit(capacity - 1) << 1];
+        this.sampleSize = 10 * capacity;
+    }
+
+    /**
+     * Get estimated frequency of a key.
+     *
+     * @param key a key
+     * @return frequency between 0 and 15
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = MAX_FREQUENCY;
+        for (int index = 0; index < SEEDS.length; index++) {
+            long slot = table[indexOf(hash, index)];
+            int counter = (int) ((slot >>> ((start + index) << 2)) & MAX_FREQUENCY);
+            frequency = Math.min(frequency, counter);
+        }
+        return frequency;
+    }
+
+    /**
+     * Increment frequency of a key.
+     *
+     * @param key a key
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int index = 0; index < SEEDS.length; index++) {
+            added |= incrementAt(indexOf(hash, index), start + index);
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Increment a counter unless it is saturated.
+     *
+     * @param slot    index of a long in the table
+     * @param counter index of a counter in the long
+     * @return true if incremented
+     */
+    private boolean incrementAt(int slot, int counter) {
+        int offset = counter << 2;
+        long mask = (long) MAX_FREQUENCY << offset;
+        if ((table[slot] & mask) != mask) {
+            table[slot] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Halve all counters.
+     */
+    private void reset() {
+        for (int index = 0; index < table.length; index++) {
+            table[index] = (table[index] >>> 1) & RESET_MASK;
+        }
+        size /= 2;
+    }
+
+    /**
+     * Get table index of a hash function.
+     *
+     * @param hash  spread hash of a key
+     * @param index index of a hash function
+     * @return index in the table
+     */
+    private int indexOf(int hash, int index) {
+        long result = (hash + SEEDS[index]) * SEEDS[index];
+        result += result >>> 32;
+        return (int) result & (table.length - 1);
+    }
+
+    /**
+     * Improve distribution of a hash code.
+     *
+     * @param hash a hash code
+     * @return a spread hash
+     */
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
@@ -1,10 +1,14 @@
 package fqme.column;
 
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 
 import fqme.column.exceptions.UnsupportedSqlType;
 import fqme.column.exceptions.UnsupportedValueType;
+import fqme.query.Assignment;
+import fqme.query.Order;
 import fqme.query.Query;
 import fqme.query.QueryArgument;
 import lombok.Getter;
@@ -70,6 +74,12 @@ public abstract class Column<T extends Column<T, K>, K> {
     @Getter
     private boolean primary = false;
 
+    /**
+     * Define if column has an index. Default is false.
+     */
+    @Getter
+    private boolean indexed = false;
+
     /**
      * Define column nullable property.
      *
@@ -97,6 +107,19 @@ public abstract class Column<T extends Column<T, K>, K> {
         return (T) this;
     }
 
+    /**
+     * Define column as indexed.
+     *
+     * A btree index is created with the table. Use
+     * {@link fqme.model.reflection.Index} for other indexes.
+     *
+     * @return this.
+     */
+    public T indexed() {
+        this.indexed = true;
+        return (T) this;
+    }
+
     /**
      * Define column as primary key.
      * Redefine nullable to false and unique to true.
@@ -118,6 +141,27 @@ public abstract class Column<T extends Column<T, K>, K> {
      */
     protected abstract String _getSqlDefinition();
 
+    /**
+     * Return sql type of the column values.
+     *
+     * Used for typed arrays and casts. Default is the sql definition,
+     * columns with pseudo-types such as SERIAL override it.
+     *
+     * @return sql type name.
+     */
+    protected String _getSqlType() {
+        return this._getSqlDefinition();
+    }
+
+    /**
+     * Return sql type of the column values.
+     *
+     * @return sql type name.
+     */
+    public final String getSqlType() {
+        return this._getSqlType();
+    }
+
     /**
      * Return sql definition of the column with modifiers.
      */
@@ -146,6 +190,21 @@ public abstract class Column<T extends Column<T, K>, K> {
      */
     public abstract K fromSqlType(Object value) throws UnsupportedSqlType;
 
+    /**
+     * Read value of the column from the current row of a result set.
+     *
+     * Columns override it to use typed getters of the result set instead of
+     * {@link ResultSet#getObject(int)}.
+     *
+     * @param resultSet a result set
+     * @param index     index of the column in the result set.
+     * @return value in java type.
+     * @throws UnsupportedSqlType if value cannot be converted.
+     */
+    public K fromResultSet(ResultSet resultSet, int index) throws SQLException, UnsupportedSqlType {
+        return fromSqlType(resultSet.getObject(index));
+    }
+
     /**
      * Set column to statement
      *
@@ -157,6 +216,50 @@ public abstract class Column<T extends Column<T, K>, K> {
     public abstract void setToStatement(PreparedStatement statement, Integer index, Object value)
             throws UnsupportedValueType, SQLException;
 
+    /**
+     * Convert java value to the object passed to the driver as an array element.
+     *
+     * Default is the value itself, columns with java types unknown to the
+     * driver override it.
+     *
+     * @param value value in java type.
+     * @return value for the driver.
+     */
+    protected Object toSqlValue(Object value) {
+        return value;
+    }
+
+    /**
+     * Convert java value to its text representation in the database.
+     *
+     * Used where values are sent as text instead of bind arguments, such as
+     * COPY. Default is string of the driver value, which is the input format
+     * of all built-in column types.
+     *
+     * @param value value in java type.
+     * @return text of the value or null if value is null.
+     */
+    public String toText(Object value) {
+        return value == null ? null : String.valueOf(toSqlValue(value));
+    }
+
+    /**
+     * Set values as a typed sql array to statement.
+     *
+     * @param statement statement to set array to.
+     * @param index     index of the array in the statement.
+     * @param values    values of the array.
+     */
+    public void setArrayToStatement(PreparedStatement statement, Integer index, Collection<?> values)
+            throws SQLException {
+        Object[] elements = new Object[values.size()];
+        int elementIndex = 0;
+        for (Object value : values) {
+            elements[elementIndex++] = toSqlValue(value);
+        }
+        statement.setArray(index, statement.getConnection().createArrayOf(getSqlType(), elements));
+    }
+
     /**
      * Return query for equal comparison.
      *
@@ -192,4 +295,53 @@ public abstract class Column<T extends Column<T, K>, K> {
     public Query isNull() {
         return new Query(this.getName() + " IS NULL");
     }
+
+    /**
+     * Return assignment of a value to the column.
+     *
+     * @see fqme.view.View#updateManyCount(Query, Assignment...)
+     *
+     * @param value a new value.
+     * @return assignment of the value.
+     */
+    public Assignment set(K value) {
+        return new Assignment(this, this.getName() + " = ?", QueryArgument.of(this, value));
+    }
+
+    /**
+     * Return ascending sort order by the column.
+     *
+     * @see fqme.query.Slice
+     *
+     * @return ascending order.
+     */
+    public Order asc() {
+        return new Order(this, false);
+    }
+
+    /**
+     * Return descending sort order by the column.
+     *
+     * @see fqme.query.Slice
+     *
+     * @return descending order.
+     */
+    public Order desc() {
+        return new Order(this, true);
+    }
+
+    /**
+     * Return query for matching any of values.
+     *
+     * Values are bound as a single array parameter, so the statement is the
+     * same for any number of values.
+     *
+     * @see fqme.query.Query
+     *
+     * @param values values to compare with.
+     * @return query for matching any of values.
+     */
+    public Query in(Collection<? extends K> values) {
+        return new Query(this.getName() + " = ANY(?)", QueryArgument.ofArray(this, values));
+    }
 }
@@ -1,6 +1,7 @@
 package fqme.column.common;
 
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import fqme.column.Column;
@@ -61,6 +62,23 @@ public class BooleanColumn extends Column<BooleanColumn, Boolean> {
                 String.format("Cannot convert value of type %s to Boolean", value.getClass().getName()));
     }
 
+    /**
+     * Read value of the column with {@code ResultSet#getBoolean}.
+     *
+     * @param resultSet a result set.
+     * @param index     index of the column in the result set.
+     * @return value of the column.
+     * @throws UnsupportedSqlType if value is null and column is not nullable.
+     */
+    @Override
+    public Boolean fromResultSet(ResultSet resultSet, int index) throws SQLException, UnsupportedSqlType {
+        boolean value = resultSet.getBoolean(index);
+        if (resultSet.wasNull()) {
+            return fromSqlType(null);
+        }
+        return value;
+    }
+
     /**
      * Set column to statement
      *
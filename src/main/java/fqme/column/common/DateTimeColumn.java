@@ -2,6 +2,7 @@ package fqme.column.common;
 
 import java.sql.Date;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
@@ -45,6 +46,20 @@ public class DateTimeColumn extends Column<DateTimeColumn, LocalDateTime> {
         return "TIMESTAMP";
     }
 
+    /**
+     * Convert LocalDateTime to Timestamp for the driver.
+     *
+     * @param value expect LocalDateTime value.
+     * @return Timestamp value.
+     */
+    @Override
+    protected Object toSqlValue(Object value) {
+        if (value instanceof LocalDateTime) {
+            return Timestamp.valueOf((LocalDateTime) value);
+        }
+        return value;
+    }
+
     /**
      * Convert value from the database to the java type.
      *
@@ -70,6 +85,23 @@ public class DateTimeColumn extends Column<DateTimeColumn, LocalDateTime> {
                 String.format("Expected Timestamp, Date or Time got %s instead.", value.getClass().getName()));
     }
 
+    /**
+     * Read value of the column with {@code ResultSet#getTimestamp}.
+     *
+     * @param resultSet a result set.
+     * @param index     index of the column in the result set.
+     * @return value of the column.
+     * @throws UnsupportedSqlType if value is null and column is not nullable.
+     */
+    @Override
+    public LocalDateTime fromResultSet(ResultSet resultSet, int index) throws SQLException, UnsupportedSqlType {
+        Timestamp value = resultSet.getTimestamp(index);
+        if (value == null) {
+            return fromSqlType(null);
+        }
+        return value.toLocalDateTime();
+    }
+
     /**
      * Set column to statement
      *
@@ -1,6 +1,7 @@
 package fqme.column.common;
 
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import fqme.column.Column;
@@ -14,6 +15,16 @@ import fqme.model.reflection.ModelReflection;
  * Allow to reference only to one column of integer type.
  */
 public class ForeignColumn extends Column<ForeignColumn, Integer> {
+    /**
+     * Class of the model to reference.
+     */
+    private final Class<? extends Model<?>> modelClass;
+
+    /**
+     * Column to reference.
+     */
+    private final Column<?, Integer> column;
+
     /**
      * Name of the table to reference.
      */
@@ -34,6 +45,8 @@ public class ForeignColumn extends Column<ForeignColumn, Integer> {
     public <M extends Model<M>> ForeignColumn(String name, Class<M> modelClass, Column<?, Integer> column) {
         super(name);
 
+        this.modelClass = modelClass;
+        this.column = column;
         this.tableName = ModelReflection.buildTableName(modelClass);
         this.columnName = column.getName();
     }
@@ -46,6 +59,42 @@ public class ForeignColumn extends Column<ForeignColumn, Integer> {
         return new ForeignColumn(name, modelClass, column);
     }
 
+    /**
+     * Get class of the referenced model.
+     *
+     * @return class of the referenced model.
+     */
+    public Class<? extends Model<?>> getReferencedModelClass() {
+        return modelClass;
+    }
+
+    /**
+     * Get the referenced column.
+     *
+     * @return the referenced column.
+     */
+    public Column<?, Integer> getReferencedColumn() {
+        return column;
+    }
+
+    /**
+     * Get name of the referenced table.
+     *
+     * @return name of the referenced table.
+     */
+    public String getReferencedTableName() {
+        return tableName;
+    }
+
+    /**
+     * Get name of the referenced column.
+     *
+     * @return name of the referenced column.
+     */
+    public String getReferencedColumnName() {
+        return columnName;
+    }
+
     /**
      * Return sql query for this column.
      *
@@ -56,6 +105,16 @@ public class ForeignColumn extends Column<ForeignColumn, Integer> {
         return String.format("INTEGER REFERENCES %s (%s)", tableName, columnName);
     }
 
+    /**
+     * Return sql type of the column values.
+     *
+     * @return INTEGER.
+     */
+    @Override
+    protected String _getSqlType() {
+        return "INTEGER";
+    }
+
     /**
      * Return sql query for this column.
      *
@@ -74,6 +133,23 @@ public class ForeignColumn extends Column<ForeignColumn, Integer> {
         throw new UnsupportedSqlType(String.format("Cannot convert value '%s' to Integer", value));
     }
 
+    /**
+     * Read value of the column with {@code ResultSet#getInt}.
+     *
+     * @param resultSet a result set.
+     * @param index     index of the column in the result set.
+     * @return value of the column.
+     * @throws UnsupportedSqlType if value is null and column is not nullable.
+     */
+    @Override
+    public Integer fromResultSet(ResultSet resultSet, int index) throws SQLException, UnsupportedSqlType {
+        int value = resultSet.getInt(index);
+        if (resultSet.wasNull()) {
+            return fromSqlType(null);
+        }
+        return value;
+    }
+
     /**
      * Set column to statement
      *
@@ -1,6 +1,7 @@
 package fqme.column.common;
 
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import fqme.column.Column;
@@ -60,6 +61,23 @@ public class StringColumn extends Column<StringColumn, String> {
         throw new UnsupportedSqlType(String.format("Expected String got %s instead.", value.getClass().getName()));
     }
 
+    /**
+     * Read value of the column with {@code ResultSet#getString}.
+     *
+     * @param resultSet a result set.
+     * @param index     index of the column in the result set.
+     * @return value of the column.
+     * @throws UnsupportedSqlType if value is null and column is not nullable.
+     */
+    @Override
+    public String fromResultSet(ResultSet resultSet, int index) throws SQLException, UnsupportedSqlType {
+        String value = resultSet.getString(index);
+        if (value == null) {
+            return fromSqlType(null);
+        }
+        return value;
+    }
+
     /**
      * Set column to statement
      *
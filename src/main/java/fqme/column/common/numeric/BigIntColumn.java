@@ -2,6 +2,7 @@
 package fqme.column.common.numeric;
 
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import fqme.column.exceptions.UnsupportedSqlType;
@@ -57,6 +58,23 @@ public class BigIntColumn extends NumericColumn<BigIntColumn, Long> {
         throw new UnsupportedSqlType(String.format("Expected Long got %s instead.", value.getClass().getName()));
     }
 
+    /**
+     * Read value of the column with {@code ResultSet#getLong}.
+     *
+     * @param resultSet a result set.
+     * @param index     index of the column in the result set.
+     * @return value of the column.
+     * @throws UnsupportedSqlType if value is null and column is not nullable.
+     */
+    @Override
+    public Long fromResultSet(ResultSet resultSet, int index) throws SQLException, UnsupportedSqlType {
+        long value = resultSet.getLong(index);
+        if (resultSet.wasNull()) {
+            return fromSqlType(null);
+        }
+        return value;
+    }
+
     /**
      * Sets the value to the statement at the given index.
      *
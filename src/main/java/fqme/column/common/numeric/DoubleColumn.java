@@ -1,6 +1,7 @@
 package fqme.column.common.numeric;
 
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import fqme.column.exceptions.UnsupportedSqlType;
@@ -36,6 +37,16 @@ public class DoubleColumn extends NumericColumn<DoubleColumn, Double> {
         return "DOUBLE PRECISION";
     }
 
+    /**
+     * Return sql type of the column values.
+     *
+     * @return "FLOAT8", single-word alias of DOUBLE PRECISION.
+     */
+    @Override
+    protected String _getSqlType() {
+        return "FLOAT8";
+    }
+
     /**
      * Converts a value from SQL type to Java type.
      *
@@ -56,6 +67,23 @@ public class DoubleColumn extends NumericColumn<DoubleColumn, Double> {
         throw new UnsupportedSqlType(String.format("Expected Double got %s instead.", value.getClass().getName()));
     }
 
+    /**
+     * Read value of the column with {@code ResultSet#getDouble}.
+     *
+     * @param resultSet a result set.
+     * @param index     index of the column in the result set.
+     * @return value of the column.
+     * @throws UnsupportedSqlType if value is null and column is not nullable.
+     */
+    @Override
+    public Double fromResultSet(ResultSet resultSet, int index) throws SQLException, UnsupportedSqlType {
+        double value = resultSet.getDouble(index);
+        if (resultSet.wasNull()) {
+            return fromSqlType(null);
+        }
+        return value;
+    }
+
     /**
      * Sets the value to the statement at the given index.
      *
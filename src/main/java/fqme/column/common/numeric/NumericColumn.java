@@ -1,6 +1,7 @@
 package fqme.column.common.numeric;
 
 import fqme.column.Column;
+import fqme.query.Assignment;
 import fqme.query.Query;
 import fqme.query.QueryArgument;
 
@@ -63,6 +64,18 @@ public abstract class NumericColumn<T extends Column<T, K>, K extends Number> ex
         return new Query(this.getName() + " <= ?", QueryArgument.of(this, value));
     }
 
+    /**
+     * Return assignment adding a value to the column.
+     *
+     * @see fqme.view.View#updateManyCount(Query, Assignment...)
+     *
+     * @param delta value to add.
+     * @return assignment of the incremented value.
+     */
+    public Assignment increment(K delta) {
+        return new Assignment(this, "%s = %s + ?".formatted(getName(), getName()), QueryArgument.of(this, delta));
+    }
+
     /**
      * Return query for between comparison.
      *
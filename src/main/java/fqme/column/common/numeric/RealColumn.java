@@ -1,6 +1,7 @@
 package fqme.column.common.numeric;
 
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import fqme.column.exceptions.UnsupportedSqlType;
@@ -56,6 +57,23 @@ public class RealColumn extends NumericColumn<RealColumn, Float> {
         throw new UnsupportedSqlType(String.format("Expected Float got %s instead.", value.getClass().getName()));
     }
 
+    /**
+     * Read value of the column with {@code ResultSet#getFloat}.
+     *
+     * @param resultSet a result set.
+     * @param index     index of the column in the result set.
+     * @return value of the column.
+     * @throws UnsupportedSqlType if value is null and column is not nullable.
+     */
+    @Override
+    public Float fromResultSet(ResultSet resultSet, int index) throws SQLException, UnsupportedSqlType {
+        float value = resultSet.getFloat(index);
+        if (resultSet.wasNull()) {
+            return fromSqlType(null);
+        }
+        return value;
+    }
+
     /**
      * Sets the value to the statement at the given index.
      *
@@ -3,8 +3,10 @@ package fqme.connection;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import fqme.model.Model;
 
@@ -12,7 +14,12 @@ public class ConnectionManager {
     /**
      * A map of model classes and database configurations.
      */
-    private static Map<Class<? extends Model<?>>, DBConfig> dbConfigs = new HashMap<>();
+    private static final Map<Class<? extends Model<?>>, DBConfig> dbConfigs = new ConcurrentHashMap<>();
+
+    /**
+     * A map of database configurations and their connection pools.
+     */
+    private static final Map<DBConfig, ConnectionPool> pools = new ConcurrentHashMap<>();
 
     /* Prevent the ConnectionManager class from being instantiated. */
     private ConnectionManager() {
@@ -28,15 +35,91 @@ public class ConnectionManager {
         dbConfigs.put(modelClass, dbConfig);
     }
 
+    /**
+     * Binds a model class to a database configuration served by a connection
+     * pool.
+     *
+     * Models bound to the same configuration share one pool, created by the
+     * first bind.
+     *
+     * @see ConnectionPool
+     *
+     * @param modelClass The model class.
+     * @param dbConfig   The database configuration.
+     * @param poolConfig The pool settings.
+     */
+    public static void bind(Class<? extends Model<?>> modelClass, DBConfig dbConfig, PoolConfig poolConfig) {
+        pools.computeIfAbsent(dbConfig, config -> new ConnectionPool(config, poolConfig));
+        bind(modelClass, dbConfig);
+    }
+
+    /**
+     * Get a database configuration of a model class.
+     *
+     * @param modelClass The model class.
+     * @return A database configuration or null if the model is not bound.
+     */
+    public static DBConfig getDBConfig(Class<? extends Model<?>> modelClass) {
+        return dbConfigs.get(modelClass);
+    }
+
+    /**
+     * Get model classes bound to a database configuration.
+     *
+     * @param dbConfig The database configuration.
+     * @return A snapshot of bound model classes.
+     */
+    public static List<Class<? extends Model<?>>> getBoundModels(DBConfig dbConfig) {
+        List<Class<? extends Model<?>>> modelClasses = new ArrayList<>();
+        dbConfigs.forEach((modelClass, bound) -> {
+            if (bound.equals(dbConfig)) {
+                modelClasses.add(modelClass);
+            }
+        });
+        return modelClasses;
+    }
+
+    /**
+     * Get a connection pool of a model class.
+     *
+     * @param modelClass The model class.
+     * @return A connection pool or null if the model is bound without a pool.
+     */
+    public static ConnectionPool getPool(Class<? extends Model<?>> modelClass) {
+        DBConfig dbConfig = dbConfigs.get(modelClass);
+        return dbConfig == null ? null : pools.get(dbConfig);
+    }
+
+    /**
+     * Close all connection pools.
+     */
+    public static void closePools() {
+        for (ConnectionPool pool : pools.values()) {
+            pool.close();
+        }
+        pools.clear();
+    }
+
     /**
      * Create a connection to the database for a model class.
      *
+     * If the model is bound with a pool, the connection is borrowed from it
+     * and returned on close.
+     *
      * @param modelClass The model class.
      * @return A connection to the database.
-     * @throws SQLException If a connection to the database cannot be established.
+     * @throws SQLException If a connection to the database cannot be established
+     *                      or the model is not bound.
      */
     public static Connection getConnection(Class<? extends Model<?>> modelClass) throws SQLException {
         DBConfig dbConfig = dbConfigs.get(modelClass);
+        if (dbConfig == null) {
+            throw new SQLException("Model %s is not bound to a database".formatted(modelClass.getName()));
+        }
+        ConnectionPool pool = pools.get(dbConfig);
+        if (pool != null) {
+            return pool.getConnection();
+        }
         Connection connection = DriverManager.getConnection(dbConfig.getUrl(),
                 dbConfig.getUsername(),
                 dbConfig.getPassword());
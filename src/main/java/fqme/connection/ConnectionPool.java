@@ -0,0 +1,437 @@
+package fqme.connection;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+
+/**
+ * Bounded pool of connections to a single database.
+ *
+ * Borrowed connections are returned to the pool on {@link Connection#close()}.
+ * Borrowing is bounded by a semaphore and idle connections are kept in a
+ * lock-free deque, so the borrow and return paths take no pool-wide lock.
+ * Idle connections above minimum size and connections exceeding their
+ * lifetime are closed by a background task.
+ *
+ * {@link Connection#unwrap(Class)} of a borrowed connection returns the
+ * physical connection, so caches keyed by it, such as {@link StatementCache},
+ * survive returning the connection to the pool. The physical connection must
+ * not be closed directly, close the borrowed connection instead. A physical
+ * connection closed this way is discarded only when the borrowed connection
+ * is returned to the pool.
+ *
+ * @see PoolConfig
+ * @see ConnectionManager#bind(Class, DBConfig, PoolConfig)
+ */
+public class ConnectionPool implements AutoCloseable {
+    /**
+     * Logger of housekeeping failures.
+     */
+    private static final Logger logger = System.getLogger(ConnectionPool.class.getName());
+
+    /**
+     * Scheduler of housekeeping tasks of all pools.
+     */
+    private static final ScheduledExecutorService housekeeper = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "fqme-pool-housekeeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Database connection details.
+     */
+    @Getter
+    private final DBConfig dbConfig;
+
+    /**
+     * Pool settings.
+     */
+    @Getter
+    private final PoolConfig poolConfig;
+
+    /**
+     * Permits to borrow a connection, one per maximum pool size.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Idle connections, most recently returned first.
+     */
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Number of open physical connections.
+     */
+    private final AtomicInteger openCount = new AtomicInteger();
+
+    /**
+     * Number of idle connections.
+     */
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    /**
+     * Number of borrowed connections.
+     */
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    /**
+     * Number of threads waiting for a connection.
+     */
+    private final AtomicInteger waitersCount = new AtomicInteger();
+
+    /**
+     * Total number of borrows.
+     */
+    private final LongAdder borrows = new LongAdder();
+
+    /**
+     * Number of borrows failed by timeout.
+     */
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * Total time spent waiting for connections in nanoseconds.
+     */
+    private final LongAdder waitNanos = new LongAdder();
+
+    /**
+     * Housekeeping task of the pool.
+     */
+    private final ScheduledFuture<?> housekeeping;
+
+    /**
+     * Define if the pool is closed.
+     */
+    private volatile boolean closed = false;
+
+    /**
+     * Create a pool and schedule its housekeeping.
+     *
+     * @param dbConfig   database connection details
+     * @param poolConfig pool settings
+     */
+    public ConnectionPool(DBConfig dbConfig, PoolConfig poolConfig) {
+        this.dbConfig = dbConfig;
+        this.poolConfig = poolConfig;
+        this.permits = new Semaphore(poolConfig.getMaxSize(), true);
+
+        long period = Math.max(1000, Math.min(poolConfig.getIdleTimeout().toMillis(),
+                poolConfig.getMaxLifetime().toMillis()) / 2);
+        this.housekeeping = housekeeper.scheduleWithFixedDelay(this::runHousekeeping, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection from the pool.
+     *
+     * Connection must be closed to return it to the pool.
+     *
+     * @return a connection
+     * @throws SQLTimeoutException if no connection is freed during borrow timeout
+     * @throws SQLException        if a connection cannot be established
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        waitersCount.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(poolConfig.getBorrowTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        } finally {
+            waitersCount.decrementAndGet();
+            waitNanos.add(System.nanoTime() - start);
+        }
+        if (!acquired) {
+            timeouts.increment();
+            throw new SQLTimeoutException("Timed out waiting for a connection after %s"
+                    .formatted(poolConfig.getBorrowTimeout()));
+        }
+
+        try {
+            PooledConnection pooled = takeIdle();
+            if (pooled == null) {
+                pooled = new PooledConnection(openConnection());
+            }
+            activeCount.incrementAndGet();
+            borrows.increment();
+            return pooled.borrow();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Get a snapshot of pool counters.
+     *
+     * @return pool stats
+     */
+    public PoolStats getStats() {
+        return new PoolStats(activeCount.get(), idleCount.get(), waitersCount.get(), borrows.sum(),
+                timeouts.sum(), Duration.ofNanos(waitNanos.sum()));
+    }
+
+    /**
+     * Close the pool and its idle connections.
+     *
+     * Borrowed connections are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeping.cancel(false);
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            pooled.destroy();
+        }
+    }
+
+    /**
+     * Take a valid idle connection, closing expired and broken ones.
+     *
+     * @return a connection or null if there are no idle connections
+     */
+    private PooledConnection takeIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            if (pooled.isExpired() || (poolConfig.isValidateOnBorrow() && !pooled.isValid())) {
+                pooled.destroy();
+                continue;
+            }
+            return pooled;
+        }
+        return null;
+    }
+
+    /**
+     * Open a new physical connection.
+     *
+     * @return a connection
+     * @throws SQLException if a connection cannot be established
+     */
+    private Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(dbConfig.getUrl(), dbConfig.getUsername(), dbConfig.getPassword());
+    }
+
+    /**
+     * Return a connection to the pool after it is closed by the borrower.
+     *
+     * @param pooled a pooled connection
+     */
+    private void release(PooledConnection pooled) {
+        activeCount.decrementAndGet();
+        try {
+            if (closed || pooled.isExpired() || openCount.get() > poolConfig.getMaxSize() || !pooled.reset()) {
+                pooled.destroy();
+            } else {
+                idle.offerFirst(pooled);
+                idleCount.incrementAndGet();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Run housekeeping, logging its failures.
+     *
+     * An exception thrown by a scheduled task cancels its later runs, so
+     * failures are caught to keep the pool maintained.
+     */
+    private void runHousekeeping() {
+        try {
+            housekeep();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Housekeeping of connection pool failed", e);
+        }
+    }
+
+    /**
+     * Close idle connections that exceeded idle timeout or lifetime and open
+     * connections up to minimum size.
+     */
+    private void housekeep() {
+        long now = System.nanoTime();
+        for (PooledConnection pooled : idle) {
+            boolean idleTooLong = now - pooled.lastUsed > poolConfig.getIdleTimeout().toNanos()
+                    && idleCount.get() > poolConfig.getMinSize();
+            if ((idleTooLong || pooled.isExpired()) && idle.removeFirstOccurrence(pooled)) {
+                idleCount.decrementAndGet();
+                pooled.destroy();
+            }
+        }
+
+        while (!closed && openCount.get() < poolConfig.getMinSize()) {
+            try {
+                idle.offerLast(new PooledConnection(openConnection()));
+                idleCount.incrementAndGet();
+            } catch (SQLException e) {
+                // database is unavailable, retry on the next run
+                return;
+            }
+        }
+    }
+
+    /**
+     * Physical connection with its pool state.
+     */
+    private class PooledConnection implements InvocationHandler {
+        /**
+         * A physical connection.
+         */
+        private final Connection connection;
+
+        /**
+         * Time the connection was opened, in nanoseconds.
+         */
+        private final long created = System.nanoTime();
+
+        /**
+         * Time the connection was used last time, in nanoseconds.
+         */
+        private volatile long lastUsed = created;
+
+        /**
+         * Proxy given to the current borrower, null if the connection is idle.
+         */
+        private volatile Connection borrowed;
+
+        /**
+         * Wrap a physical connection.
+         *
+         * @param connection a physical connection
+         */
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+            openCount.incrementAndGet();
+        }
+
+        /**
+         * Create a proxy for a new borrower.
+         *
+         * Proxy returns the connection to the pool on close and rejects calls
+         * after it.
+         *
+         * @return a proxy
+         */
+        private Connection borrow() {
+            borrowed = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, this);
+            return borrowed;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            boolean isCurrent = proxy == borrowed;
+            switch (method.getName()) {
+                case "close":
+                    if (isCurrent) {
+                        borrowed = null;
+                        lastUsed = System.nanoTime();
+                        release(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return !isCurrent || connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + connection;
+                default:
+                    break;
+            }
+            if (!isCurrent) {
+                throw new SQLException("Connection is closed");
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Check if the connection exceeded its lifetime.
+         *
+         * @return true if expired
+         */
+        private boolean isExpired() {
+            return System.nanoTime() - created > poolConfig.getMaxLifetime().toNanos();
+        }
+
+        /**
+         * Check if the connection is alive.
+         *
+         * @return true if valid
+         */
+        private boolean isValid() {
+            try {
+                return connection.isValid((int) Math.max(1, poolConfig.getValidationTimeout().toSeconds()));
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Roll back unfinished transaction and restore autocommit mode.
+         *
+         * @return true if the connection can be reused
+         */
+        private boolean reset() {
+            try {
+                if (connection.isClosed()) {
+                    return false;
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Close the physical connection and its cached statements.
+         */
+        private void destroy() {
+            openCount.decrementAndGet();
+            StatementCache.release(connection);
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                // connection is discarded anyway
+            }
+        }
+    }
+}
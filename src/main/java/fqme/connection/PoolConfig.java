@@ -0,0 +1,156 @@
+package fqme.connection;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+/**
+ * Settings of a {@link ConnectionPool}.
+ *
+ * Settings are defined with chained methods, like columns:
+ *
+ * <pre>
+ * {@code
+ * PoolConfig poolConfig = PoolConfig.defaults()
+ *         .minSize(2)
+ *         .maxSize(20)
+ *         .borrowTimeout(Duration.ofSeconds(5));
+ * }
+ * </pre>
+ */
+@Getter
+public class PoolConfig {
+    /**
+     * Number of connections kept open even if they are idle. Default is 0.
+     */
+    private int minSize = 0;
+
+    /**
+     * Maximum number of connections borrowed at the same time. Default is 10.
+     */
+    private int maxSize = 10;
+
+    /**
+     * Time after which an idle connection above {@link #minSize} is closed.
+     * Default is 10 minutes.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Time after which a connection is closed once it is returned to the pool.
+     * Default is 30 minutes.
+     */
+    private Duration maxLifetime = Duration.ofMinutes(30);
+
+    /**
+     * Maximum time to wait for a free connection. Default is 30 seconds.
+     */
+    private Duration borrowTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Define if idle connections are validated before they are borrowed.
+     * Default is true.
+     */
+    private boolean validateOnBorrow = true;
+
+    /**
+     * Maximum time of connection validation. Default is 5 seconds.
+     */
+    private Duration validationTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Create settings with default values.
+     *
+     * @return new settings
+     */
+    public static PoolConfig defaults() {
+        return new PoolConfig();
+    }
+
+    /**
+     * Define minimum number of open connections.
+     *
+     * @param minSize minimum number of open connections.
+     * @return this.
+     * @throws IllegalArgumentException if value is negative or greater than
+     *                                  maximum size.
+     */
+    public PoolConfig minSize(int minSize) {
+        if (minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Min size must be between 0 and max size");
+        }
+        this.minSize = minSize;
+        return this;
+    }
+
+    /**
+     * Define maximum number of borrowed connections.
+     *
+     * @param maxSize maximum number of borrowed connections.
+     * @return this.
+     * @throws IllegalArgumentException if value is not positive or less than
+     *                                  minimum size.
+     */
+    public PoolConfig maxSize(int maxSize) {
+        if (maxSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Max size must be positive and not less than min size");
+        }
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    /**
+     * Define time after which an idle connection is closed.
+     *
+     * @param idleTimeout idle timeout.
+     * @return this.
+     */
+    public PoolConfig idleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        return this;
+    }
+
+    /**
+     * Define maximum lifetime of a connection.
+     *
+     * @param maxLifetime maximum lifetime.
+     * @return this.
+     */
+    public PoolConfig maxLifetime(Duration maxLifetime) {
+        this.maxLifetime = maxLifetime;
+        return this;
+    }
+
+    /**
+     * Define maximum time to wait for a free connection.
+     *
+     * @param borrowTimeout borrow timeout.
+     * @return this.
+     */
+    public PoolConfig borrowTimeout(Duration borrowTimeout) {
+        this.borrowTimeout = borrowTimeout;
+        return this;
+    }
+
+    /**
+     * Define if connections are validated before they are borrowed.
+     *
+     * @param validateOnBorrow validate on borrow property.
+     * @return this.
+     */
+    public PoolConfig validateOnBorrow(boolean validateOnBorrow) {
+        this.validateOnBorrow = validateOnBorrow;
+        return this;
+    }
+
+    /**
+     * Define maximum time of connection validation.
+     *
+     * @param validationTimeout validation timeout.
+     * @return this.
+     */
+    public PoolConfig validationTimeout(Duration validationTimeout) {
+        this.validationTimeout = validationTimeout;
+        return this;
+    }
+}
@@ -0,0 +1,50 @@
+package fqme.connection;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+/**
+ * Snapshot of {@link ConnectionPool} counters.
+ */
+@Data
+public class PoolStats {
+    /**
+     * Number of borrowed connections.
+     */
+    private final int active;
+
+    /**
+     * Number of open connections waiting in the pool.
+     */
+    private final int idle;
+
+    /**
+     * Number of threads waiting for a connection.
+     */
+    private final int waiters;
+
+    /**
+     * Total number of borrows.
+     */
+    private final long borrows;
+
+    /**
+     * Number of borrows failed by timeout.
+     */
+    private final long timeouts;
+
+    /**
+     * Total time threads waited for connections.
+     */
+    private final Duration totalWaitTime;
+
+    /**
+     * Average time a borrow waited for a connection.
+     *
+     * @return average wait time
+     */
+    public Duration getAverageWaitTime() {
+        return borrows == 0 ? Duration.ZERO : totalWaitTime.dividedBy(borrows);
+    }
+}
@@ -0,0 +1,263 @@
+package fqme.connection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of prepared statements of a single connection.
+ *
+ * Statements are keyed by their SQL, so statements with the same shape reuse
+ * server-side prepared plans. Least recently used statements are closed
+ * when the cache is full.
+ *
+ * Caches of closed connections are released when a cache of another
+ * connection is created, so connections that do not come from a
+ * {@link ConnectionPool} are not kept reachable after they are closed.
+ *
+ * Statements returned by the cache are owned by it and must not be closed by
+ * the caller. Executing a statement again closes its previous result set, so
+ * a statement whose result set is still open is not returned again: a new
+ * statement replaces it in the cache, and the replaced one is closed once its
+ * result set is closed.
+ */
+public class StatementCache {
+    /**
+     * Default maximum number of cached statements per connection.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Caches of open connections.
+     *
+     * Cached statements reference their connection, so keys are reachable
+     * from values and entries must be removed explicitly, see
+     * {@link #release(Connection)} and {@link #releaseClosed()}.
+     */
+    private static final Map<Connection, StatementCache> caches = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * A connection, statements belong to.
+     */
+    private final Connection connection;
+
+    /**
+     * Cached statements in access order.
+     */
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    /**
+     * Statements removed from the cache while their result sets were open.
+     */
+    private final List<PreparedStatement> detached = new ArrayList<>();
+
+    /**
+     * Create a cache for a connection.
+     *
+     * @param connection a connection
+     * @param capacity   maximum number of cached statements
+     */
+    public StatementCache(Connection connection, int capacity) {
+        this.connection = connection;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                evict(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Get a shared cache for a connection.
+     *
+     * Wrapped connections, such as connections of {@link ConnectionPool}, share
+     * the cache of the underlying physical connection, so statements survive
+     * returning the connection to the pool.
+     *
+     * @param connection a connection
+     * @return a statement cache
+     */
+    public static StatementCache of(Connection connection) {
+        Connection physical = connection;
+        try {
+            physical = connection.unwrap(Connection.class);
+        } catch (SQLException e) {
+            // connection is not a wrapper
+        }
+        StatementCache cache = caches.get(physical);
+        if (cache == null) {
+            releaseClosed();
+            cache = caches.computeIfAbsent(physical, key -> new StatementCache(key, DEFAULT_CAPACITY));
+        }
+        return cache;
+    }
+
+    /**
+     * Get a cached statement for SQL or prepare a new one.
+     *
+     * Parameters of a reused statement are cleared. A cached statement with
+     * an open result set is replaced by a new one.
+     *
+     * @param sql a sql
+     * @return a prepared statement owned by the cache
+     * @throws SQLException if a database access error occurs
+     */
+    public synchronized PreparedStatement prepare(String sql) throws SQLException {
+        closeDetached();
+        PreparedStatement statement = statements.get(sql);
+        if (statement != null && !statement.isClosed()) {
+            if (!hasOpenResultSet(statement)) {
+                statement.clearParameters();
+                return statement;
+            }
+            detached.add(statement);
+        }
+        statement = connection.prepareStatement(sql);
+        statements.put(sql, statement);
+        return statement;
+    }
+
+    /**
+     * Get number of cached statements.
+     *
+     * @return number of cached statements
+     */
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    /**
+     * Close all cached statements, including statements with open result
+     * sets.
+     */
+    public synchronized void clear() {
+        for (PreparedStatement statement : statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+        detached.forEach(StatementCache::closeQuietly);
+        detached.clear();
+    }
+
+    /**
+     * Close cached statements of a connection and forget its cache.
+     *
+     * @param connection a connection
+     */
+    public static void release(Connection connection) {
+        StatementCache cache = caches.remove(connection);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Forget caches of closed connections.
+     *
+     * Connections that cannot report their state are treated as closed.
+     */
+    public static void releaseClosed() {
+        List<Connection> closed = new ArrayList<>();
+        synchronized (caches) {
+            for (Connection connection : caches.keySet()) {
+                if (isClosed(connection)) {
+                    closed.add(connection);
+                }
+            }
+        }
+        for (Connection connection : closed) {
+            release(connection);
+        }
+    }
+
+    /**
+     * Get number of connections with a cache.
+     *
+     * @return number of cached connections
+     */
+    public static int connectionsCount() {
+        return caches.size();
+    }
+
+    /**
+     * Check if a connection is closed.
+     *
+     * @param connection a connection
+     * @return true if the connection is closed or its state is unknown
+     */
+    private static boolean isClosed(Connection connection) {
+        try {
+            return connection.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Close an evicted statement, or detach it until its result set is
+     * closed.
+     *
+     * @param statement a statement
+     */
+    private void evict(PreparedStatement statement) {
+        if (hasOpenResultSet(statement)) {
+            detached.add(statement);
+        } else {
+            closeQuietly(statement);
+        }
+    }
+
+    /**
+     * Close detached statements whose result sets are closed.
+     */
+    private void closeDetached() {
+        Iterator<PreparedStatement> iterator = detached.iterator();
+        while (iterator.hasNext()) {
+            PreparedStatement statement = iterator.next();
+            if (!hasOpenResultSet(statement)) {
+                closeQuietly(statement);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Check if a statement has a result set that is not closed yet.
+     *
+     * @param statement a statement
+     * @return true if the result set is open
+     */
+    private static boolean hasOpenResultSet(PreparedStatement statement) {
+        try {
+            ResultSet resultSet = statement.getResultSet();
+            return resultSet != null && !resultSet.isClosed();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Close a statement ignoring errors, as it is evicted anyway.
+     *
+     * @param statement a statement
+     */
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // statement is unusable anyway
+        }
+    }
+}
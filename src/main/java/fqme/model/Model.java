@@ -1,36 +1,91 @@
 package fqme.model;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
 
 import fqme.model.reflection.ModelReflection;
 
 public abstract class Model<T extends Model<T>> {
     /**
-     * A map with registered model reflections.
+     * Fields values of the model as last read from or written to the
+     * database, in order of columns, or null if the model is not loaded.
+     *
+     * Used to write only changed columns on put.
+     */
+    private transient Object[] loadedValues;
+
+    /**
+     * Lock-free cache of model reflections attached to model classes.
+     *
+     * Reflections are built on first lookup, so models do not have to be
+     * registered before use. A reflection does not keep its model class from
+     * being unloaded.
      */
-    private static Map<Class<? extends Model<?>>, ModelReflection<?>> modelsReflections = new HashMap<>();
+    private static final ClassValue<ModelReflection<?>> reflectionsCache = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        protected ModelReflection<?> computeValue(Class<?> modelClass) {
+            return ModelReflection.buildReflection((Class) modelClass);
+        }
+    };
 
     /**
      * Build and register reflection for a model class.
      *
+     * Registering is optional, as reflections are built on first use, but it
+     * moves the cost to startup. Models are listed by their bindings, see
+     * {@link fqme.connection.ConnectionManager#getBoundModels}.
+     *
      * @see ModelReflection
      *
      * @param modelClass a model class
-     * @param dbConfig   a db config
      */
     public static <K extends Model<K>> void register(Class<K> modelClass) {
-        ModelReflection<K> modelReflection = ModelReflection.buildReflection(modelClass);
-        modelsReflections.put(modelClass, modelReflection);
+        reflectionsCache.get(modelClass);
+    }
+
+    /**
+     * Build and register reflections for many model classes in parallel.
+     *
+     * @see #register(Class)
+     *
+     * @param modelClasses model classes
+     */
+    public static void warmUp(Collection<Class<? extends Model<?>>> modelClasses) {
+        modelClasses.parallelStream().forEach(reflectionsCache::get);
     }
 
     /**
      * Get a model reflection for a model class.
      *
+     * Builds and registers the reflection if the model is not registered yet.
+     *
      * @param modelClass a model class
      * @return a model reflection
      */
+    @SuppressWarnings("unchecked")
     public static <K extends Model<K>> ModelReflection<K> getModelReflection(Class<K> modelClass) {
-        return (ModelReflection<K>) modelsReflections.get(modelClass);
+        return (ModelReflection<K>) reflectionsCache.get(modelClass);
+    }
+
+    /**
+     * Get fields values of the model as last read from or written to the
+     * database.
+     *
+     * @return values in order of columns or null if the model is not loaded
+     */
+    public final Object[] loadedValues() {
+        return loadedValues;
+    }
+
+    /**
+     * Remember fields values of the model stored in the database.
+     *
+     * Called by views when the model is read or written, the array must not
+     * be modified afterwards.
+     *
+     * @param fieldsValues values in order of columns or null to forget them
+     */
+    public final void markLoaded(Object[] fieldsValues) {
+        this.loadedValues = fieldsValues;
     }
 }
@@ -0,0 +1,13 @@
+package fqme.model.exceptions;
+
+import lombok.experimental.StandardException;
+
+/**
+ * Exception thrown when {@code FieldSetter} cannot set a field value.
+ *
+ * @see fqme.model.reflection.FieldSetter
+ * @see fqme.model.reflection.ModelReflection#getFieldSetter()
+ */
+@StandardException
+public class CannotSetFieldValue extends RuntimeException {
+}
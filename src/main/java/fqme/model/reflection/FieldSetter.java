@@ -0,0 +1,22 @@
+package fqme.model.reflection;
+
+import fqme.model.Model;
+import fqme.model.exceptions.CannotSetFieldValue;
+
+/**
+ * Functional interface for setting a field value of a model.
+ *
+ * Fields are indexed in order of {@link ModelReflection#getColumns()}.
+ */
+@FunctionalInterface
+public interface FieldSetter<T extends Model<T>> {
+    /**
+     * Set a field value of a model.
+     *
+     * @param model a model
+     * @param index index of the field column
+     * @param value a value
+     * @throws CannotSetFieldValue if the value cannot be set
+     */
+    void setFieldValue(T model, int index, Object value) throws CannotSetFieldValue;
+}
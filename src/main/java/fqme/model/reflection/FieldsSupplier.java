@@ -1,13 +1,13 @@
 package fqme.model.reflection;
 
-import java.util.LinkedHashMap;
-
 import fqme.model.Model;
 
 /**
  * Functional interface for getting fields values from a model.
+ *
+ * Values are in order of {@link ModelReflection#getColumns()}.
  */
 @FunctionalInterface
 public interface FieldsSupplier<T extends Model<T>> {
-    LinkedHashMap<String, Object> getFieldsValues(T model);
+    Object[] getFieldsValues(T model);
 }
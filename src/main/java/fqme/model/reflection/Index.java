@@ -0,0 +1,100 @@
+package fqme.model.reflection;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Index annotation declares an index of the model table.
+ *
+ * Indexes are created with the table, see {@link fqme.view.SchemaRegistry}.
+ * Single column btree indexes can also be declared with
+ * {@link fqme.column.Column#indexed()}.
+ *
+ * Example:
+ *
+ * <pre>
+ * &#64;Index(columns = { "userId", "created" })
+ * &#64;Index(columns = "created", method = Index.Method.BRIN)
+ * &#64;Index(columns = "email", operatorClass = "text_pattern_ops")
+ * &#64;Index(columns = "status", where = "status <> 'done'")
+ * public class OrderModel extends Model<OrderModel> {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @see fqme.model.Model
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Repeatable(Indexes.class)
+public @interface Index {
+    /**
+     * Index access methods.
+     */
+    enum Method {
+        /**
+         * Balanced tree, for equality, ranges and sorting.
+         */
+        BTREE,
+
+        /**
+         * Block range summary, small index for columns correlated with
+         * physical order, like creation time of append-only tables.
+         */
+        BRIN,
+
+        /**
+         * Hash, for equality only.
+         */
+        HASH
+    }
+
+    /**
+     * Names of indexed columns, in order of the index.
+     *
+     * @return names of columns
+     */
+    String[] columns();
+
+    /**
+     * Name of the index. Default is built from names of the table and
+     * columns, the access method and the operator class, so partial indexes
+     * of the same columns must be named.
+     *
+     * @return name of the index
+     */
+    String name() default "";
+
+    /**
+     * Access method of the index.
+     *
+     * @return access method
+     */
+    Method method() default Method.BTREE;
+
+    /**
+     * Operator class of all columns, for example {@code text_pattern_ops}
+     * for prefix matching with LIKE. Default is the operator class of the
+     * column type.
+     *
+     * @return operator class or empty string
+     */
+    String operatorClass() default "";
+
+    /**
+     * Condition of a partial index.
+     *
+     * @return sql condition or empty string to index all rows
+     */
+    String where() default "";
+
+    /**
+     * Define if the index is unique.
+     *
+     * @return true if the index is unique
+     */
+    boolean unique() default false;
+}
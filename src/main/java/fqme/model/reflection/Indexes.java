@@ -0,0 +1,20 @@
+package fqme.model.reflection;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Container of repeated {@link Index} annotations.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Indexes {
+    /**
+     * Declared indexes.
+     *
+     * @return indexes
+     */
+    Index[] value();
+}
@@ -1,27 +1,29 @@
 package fqme.model.reflection;
 
-import java.util.List;
-
 import fqme.model.Model;
 import fqme.model.exceptions.CannotInstantiateModel;
 import fqme.model.exceptions.SuitableConstructorNotFound;
 
 /**
- * A functional interface that allows to create a model from a list of fields.
+ * A functional interface that allows to create a model from an array of fields.
  *
- * Fields values are supplied from FieldsSupplier.
+ * Fields values are in order of {@link ModelReflection#getColumns()},
+ * the same as supplied from FieldsSupplier.
  *
  * @see FieldsSupplier
  */
 @FunctionalInterface
 public interface ModelFactory<T extends Model<T>> {
     /**
-     * Creates a model from a list of fields.
+     * Creates a model from an array of fields.
+     *
+     * The array is not retained by the model, so it can be reused by the
+     * caller.
      *
-     * @param fields a list of fields
+     * @param fields an array of fields
      * @return a model
      * @throws CannotInstantiateModel      if a model cannot be instantiated
      * @throws SuitableConstructorNotFound if suitable constructor not exists
      */
-    T fromFields(List<Object> fields) throws CannotInstantiateModel, SuitableConstructorNotFound;
+    T fromFields(Object[] fields) throws CannotInstantiateModel, SuitableConstructorNotFound;
 }
@@ -1,7 +1,11 @@
 package fqme.model.reflection;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 
@@ -10,6 +14,7 @@ import fqme.model.Model;
 import fqme.model.exceptions.CannotAccessModelColumn;
 import fqme.model.exceptions.CannotGetFieldValue;
 import fqme.model.exceptions.CannotInstantiateModel;
+import fqme.model.exceptions.CannotSetFieldValue;
 import fqme.model.exceptions.SuitableConstructorNotFound;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -21,6 +26,12 @@ import lombok.RequiredArgsConstructor;
  */
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public class ModelReflection<T extends Model<T>> {
+    /**
+     * A model class.
+     */
+    @Getter
+    private final Class<T> modelClass;
+
     /**
      * Table name.
      */
@@ -36,16 +47,23 @@ public class ModelReflection<T extends Model<T>> {
     private final LinkedHashMap<String, Column<?, ?>> columns;
 
     /**
-     * A functional interface that allows to get a list of fields values from a
+     * A functional interface that allows to get an array of fields values from a
      * model.
-     * Returns a list of fields values as objects.
+     * Values are in order of {@link #getColumns()}.
      */
     @Getter
     private final FieldsSupplier<T> fieldsSupplier;
 
     /**
-     * A functional interface that allows to create a model from a list of fields
-     * values.
+     * A functional interface that allows to set a field value of a model by
+     * index of its column in {@link #getColumns()}.
+     */
+    @Getter
+    private final FieldSetter<T> fieldSetter;
+
+    /**
+     * A functional interface that allows to create a model from an array of
+     * fields values in order of {@link #getColumns()}.
      */
     @Getter
     private final ModelFactory<T> modelFactory;
@@ -60,9 +78,10 @@ public class ModelReflection<T extends Model<T>> {
     public static <K extends Model<K>> ModelReflection<K> buildReflection(Class<K> modelClass) {
         String tableName = buildTableName(modelClass);
         LinkedHashMap<String, Column<?, ?>> columns = buildColumns(modelClass);
-        FieldsSupplier<K> fieldsSupplier = buildFieldsSupplier(modelClass);
-        ModelFactory<K> modelFactory = buildModelFactory(modelClass);
-        return new ModelReflection<>(tableName, columns, fieldsSupplier, modelFactory);
+        FieldsSupplier<K> fieldsSupplier = buildFieldsSupplier(modelClass, columns);
+        FieldSetter<K> fieldSetter = buildFieldSetter(modelClass, columns);
+        ModelFactory<K> modelFactory = buildModelFactory(modelClass, columns);
+        return new ModelReflection<>(modelClass, tableName, columns, fieldsSupplier, fieldSetter, modelFactory);
     }
 
     /**
@@ -109,48 +128,111 @@ public class ModelReflection<T extends Model<T>> {
 
     /**
      * Find fields of model class annotated with ColumnData and return a functional
-     * interface that allows to get a map with fields names as keys and fields
-     * values as values in order required by auto-generated constructor.
+     * interface that allows to get an array of fields values in order of
+     * columns.
+     *
+     * Getters are resolved once into method handles, so reading values does not
+     * perform access checks on every call.
      *
      * @see ColumnData
      *
      * @param modelClass a model class
-     * @return a functional interface that allows to get a list of
+     * @param columns    columns of the model
+     * @return a functional interface that allows to get an array of fields values
      */
-    private static <K extends Model<K>> FieldsSupplier<K> buildFieldsSupplier(Class<K> modelClass) {
-        Field[] fields = modelClass.getDeclaredFields();
-        List<Field> columnsDataFields = List.of(fields).stream()
-                .filter(field -> field.isAnnotationPresent(ColumnData.class))
-                .toList();
+    private static <K extends Model<K>> FieldsSupplier<K> buildFieldsSupplier(Class<K> modelClass,
+            LinkedHashMap<String, Column<?, ?>> columns) {
+        List<Field> columnsDataFields = getColumnsDataFields(modelClass);
+
+        MethodHandle[] getters = new MethodHandle[columns.size()];
+        int index = 0;
+        for (String columnName : columns.keySet()) {
+            Field field = columnsDataFields.stream()
+                    .filter(columnField -> columnField.getName().equals(columnName))
+                    .findFirst()
+                    .orElseThrow(() -> new CannotAccessModelColumn(
+                            "Column %s has no field annotated with @ColumnData".formatted(columnName)));
+            try {
+                field.setAccessible(true);
+                getters[index++] = MethodHandles.lookup().unreflectGetter(field)
+                        .asType(MethodType.methodType(Object.class, Object.class));
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new CannotAccessModelColumn(e);
+            }
+        }
 
         return (model) -> {
-            LinkedHashMap<String, Object> fieldsValues = new LinkedHashMap<>();
-            for (Field field : columnsDataFields) {
-                try {
-                    field.setAccessible(true);
-                    Object fieldValue = field.get(model);
-                    fieldsValues.put(field.getName(), fieldValue);
-                } catch (IllegalAccessException e) {
-                    throw new CannotGetFieldValue(e);
+            Object[] fieldsValues = new Object[getters.length];
+            try {
+                for (int i = 0; i < getters.length; i++) {
+                    fieldsValues[i] = (Object) getters[i].invokeExact((Object) model);
                 }
+            } catch (Throwable e) {
+                throw new CannotGetFieldValue(e);
             }
             return fieldsValues;
         };
     }
 
+    /**
+     * Find fields of model class annotated with ColumnData and return a functional
+     * interface that allows to set a field value by index of its column.
+     *
+     * Setters are resolved once into method handles, like getters of
+     * {@link #buildFieldsSupplier(Class, LinkedHashMap)}.
+     *
+     * @param modelClass a model class
+     * @param columns    columns of the model
+     * @return a functional interface that allows to set a field value
+     */
+    private static <K extends Model<K>> FieldSetter<K> buildFieldSetter(Class<K> modelClass,
+            LinkedHashMap<String, Column<?, ?>> columns) {
+        List<Field> columnsDataFields = getColumnsDataFields(modelClass);
+
+        MethodHandle[] setters = new MethodHandle[columns.size()];
+        int index = 0;
+        for (String columnName : columns.keySet()) {
+            Field field = columnsDataFields.stream()
+                    .filter(columnField -> columnField.getName().equals(columnName))
+                    .findFirst()
+                    .orElseThrow(() -> new CannotAccessModelColumn(
+                            "Column %s has no field annotated with @ColumnData".formatted(columnName)));
+            try {
+                field.setAccessible(true);
+                setters[index++] = MethodHandles.lookup().unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new CannotAccessModelColumn(e);
+            }
+        }
+
+        return (model, fieldIndex, value) -> {
+            try {
+                setters[fieldIndex].invokeExact((Object) model, value);
+            } catch (Throwable e) {
+                throw new CannotSetFieldValue(e);
+            }
+        };
+    }
+
     /**
      * Create a functional interface that allows to create a model
-     * from a list of columns values.
+     * from an array of columns values.
+     *
+     * Constructor is resolved once into a spreading method handle. Values are
+     * reordered from columns order to constructor arguments order if they
+     * differ.
      *
      * @see ColumnData
      *
      * @param modelClass a model class
+     * @param columns    columns of the model
      * @return a functional interface that allows to create a model
      */
-    private static <K extends Model<K>> ModelFactory<K> buildModelFactory(Class<K> modelClass) {
-        Field[] fields = modelClass.getDeclaredFields();
-        Class<?>[] columnsTypes = List.of(fields).stream()
-                .filter(field -> field.isAnnotationPresent(ColumnData.class))
+    private static <K extends Model<K>> ModelFactory<K> buildModelFactory(Class<K> modelClass,
+            LinkedHashMap<String, Column<?, ?>> columns) {
+        List<Field> columnsDataFields = getColumnsDataFields(modelClass);
+        Class<?>[] columnsTypes = columnsDataFields.stream()
                 .map(field -> (Class<?>) field.getType())
                 .toArray(Class<?>[]::new);
 
@@ -161,12 +243,52 @@ public class ModelReflection<T extends Model<T>> {
             throw new SuitableConstructorNotFound();
         }
 
+        MethodHandle constructorHandle;
+        try {
+            constructorHandle = MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, columnsTypes.length)
+                    .asType(MethodType.methodType(Model.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new SuitableConstructorNotFound();
+        }
+
+        List<String> columnsNames = new ArrayList<>(columns.keySet());
+        int[] argumentsIndexes = new int[columnsDataFields.size()];
+        boolean isIdentityOrder = columnsDataFields.size() == columnsNames.size();
+        for (int i = 0; i < argumentsIndexes.length; i++) {
+            argumentsIndexes[i] = columnsNames.indexOf(columnsDataFields.get(i).getName());
+            if (argumentsIndexes[i] < 0) {
+                throw new SuitableConstructorNotFound();
+            }
+            isIdentityOrder &= argumentsIndexes[i] == i;
+        }
+        boolean reordered = !isIdentityOrder;
+
         return (fieldsValues) -> {
+            Object[] arguments = fieldsValues;
+            if (reordered) {
+                arguments = new Object[argumentsIndexes.length];
+                for (int i = 0; i < argumentsIndexes.length; i++) {
+                    arguments[i] = fieldsValues[argumentsIndexes[i]];
+                }
+            }
             try {
-                return constructor.newInstance(fieldsValues.toArray());
-            } catch (Exception e) {
+                return modelClass.cast((Model<?>) constructorHandle.invokeExact(arguments));
+            } catch (Throwable e) {
                 throw new CannotInstantiateModel(e);
             }
         };
     }
+
+    /**
+     * Get fields of model class annotated with ColumnData in declaration order.
+     *
+     * @param modelClass a model class
+     * @return a list of fields
+     */
+    private static <K extends Model<K>> List<Field> getColumnsDataFields(Class<K> modelClass) {
+        return List.of(modelClass.getDeclaredFields()).stream()
+                .filter(field -> field.isAnnotationPresent(ColumnData.class))
+                .toList();
+    }
 }
@@ -0,0 +1,142 @@
+package fqme.query;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import fqme.column.Column;
+import fqme.column.common.numeric.NumericColumn;
+import fqme.column.exceptions.UnsupportedSqlType;
+import lombok.Data;
+
+/**
+ * Aggregate function computed by the database.
+ *
+ * Results are labeled by function and column name, for example
+ * {@code sum_price}, or {@code count} for the number of rows.
+ *
+ * @see fqme.view.View#aggregate(Query, Aggregate...)
+ */
+@Data
+public class Aggregate {
+    /**
+     * Supported aggregate functions.
+     */
+    public enum Function {
+        COUNT, SUM, AVG, MIN, MAX
+    }
+
+    /**
+     * Aggregate function.
+     */
+    private final Function function;
+
+    /**
+     * Aggregated column or null for all rows.
+     */
+    private final Column<?, ?> column;
+
+    /**
+     * Return aggregate counting rows.
+     *
+     * @return count aggregate.
+     */
+    public static Aggregate count() {
+        return new Aggregate(Function.COUNT, null);
+    }
+
+    /**
+     * Return aggregate counting not null values of a column.
+     *
+     * @param column a column.
+     * @return count aggregate.
+     */
+    public static Aggregate count(Column<?, ?> column) {
+        return new Aggregate(Function.COUNT, column);
+    }
+
+    /**
+     * Return aggregate summing values of a column.
+     *
+     * @param column a numeric column.
+     * @return sum aggregate.
+     */
+    public static Aggregate sum(NumericColumn<?, ?> column) {
+        return new Aggregate(Function.SUM, column);
+    }
+
+    /**
+     * Return aggregate averaging values of a column.
+     *
+     * @param column a numeric column.
+     * @return avg aggregate.
+     */
+    public static Aggregate avg(NumericColumn<?, ?> column) {
+        return new Aggregate(Function.AVG, column);
+    }
+
+    /**
+     * Return aggregate of the minimum value of a column.
+     *
+     * @param column a column.
+     * @return min aggregate.
+     */
+    public static Aggregate min(Column<?, ?> column) {
+        return new Aggregate(Function.MIN, column);
+    }
+
+    /**
+     * Return aggregate of the maximum value of a column.
+     *
+     * @param column a column.
+     * @return max aggregate.
+     */
+    public static Aggregate max(Column<?, ?> column) {
+        return new Aggregate(Function.MAX, column);
+    }
+
+    /**
+     * Return label of the aggregate in results.
+     *
+     * @return label.
+     */
+    public String getLabel() {
+        String name = function.name().toLowerCase();
+        return column == null ? name : name + "_" + column.getName();
+    }
+
+    /**
+     * Return sql of the aggregate with its label.
+     *
+     * @return sql.
+     */
+    public String getSql() {
+        return "%s(%s) AS %s".formatted(function.name(), column == null ? "*" : column.getName(), getLabel());
+    }
+
+    /**
+     * Read value of the aggregate from a result set.
+     *
+     * Count is read as Long, sum and avg as Number returned by the driver,
+     * min and max as values of the column. Aggregates of no rows, except
+     * count, are null.
+     *
+     * @param resultSet a result set.
+     * @param index     index of the aggregate in the result set.
+     * @return value of the aggregate.
+     * @throws UnsupportedSqlType if a value cannot be converted.
+     */
+    public Object fromResultSet(ResultSet resultSet, int index) throws SQLException, UnsupportedSqlType {
+        switch (function) {
+            case COUNT:
+                return resultSet.getLong(index);
+            case SUM:
+            case AVG:
+                return resultSet.getObject(index);
+            default:
+                if (resultSet.getObject(index) == null) {
+                    return null;
+                }
+                return column.fromResultSet(resultSet, index);
+        }
+    }
+}
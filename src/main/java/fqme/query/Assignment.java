@@ -0,0 +1,31 @@
+package fqme.query;
+
+import fqme.column.Column;
+import lombok.Data;
+
+/**
+ * Assignment of a column in a set-based update.
+ *
+ * Created by {@link Column#set(Object)}, for example
+ * {@code view.updateManyCount(User.active_.eq(true), User.active_.set(false))}.
+ *
+ * @see fqme.view.View#updateManyCount(Query, Assignment...)
+ */
+@Data
+public class Assignment {
+    /**
+     * Assigned column.
+     */
+    private final Column<?, ?> column;
+
+    /**
+     * SQL of the assignment with a single placeholder, for example
+     * {@code name = ?}.
+     */
+    private final String sql;
+
+    /**
+     * Argument of the placeholder.
+     */
+    private final QueryArgument<?, ?> argument;
+}
@@ -0,0 +1,33 @@
+package fqme.query;
+
+import fqme.column.Column;
+import lombok.Data;
+
+/**
+ * Sort order by a column.
+ *
+ * Created by {@link Column#asc()} and {@link Column#desc()}.
+ *
+ * @see Slice
+ */
+@Data
+public class Order {
+    /**
+     * Column to sort by.
+     */
+    private final Column<?, ?> column;
+
+    /**
+     * Define if values are sorted in descending order.
+     */
+    private final boolean descending;
+
+    /**
+     * Return sql of the order.
+     *
+     * @return column name with direction.
+     */
+    public String getSql() {
+        return column.getName() + (descending ? " DESC" : " ASC");
+    }
+}
@@ -1,32 +1,66 @@
 package fqme.query;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 
-import lombok.Data;
 import lombok.NonNull;
 
 /**
  * Query class responsible for building SQL queries.
  *
- * It contains a sql query string and a list of arguments.
+ * A query is an immutable expression tree. Leaves contain a sql condition
+ * with its arguments, inner nodes combine queries with AND, OR and NOT.
+ * Combining queries creates a new node and never changes its operands, so
+ * query fragments can be shared.
+ *
+ * The where clause is rendered once, on first access, in a single pass:
+ * chains of the same operator are flattened, so composing many queries does
+ * not nest parentheses.
  *
  * Used by {@link fqme.view.StatementBuilder}
  */
-@Data
-public class Query {
+public final class Query {
+    /**
+     * Node operators.
+     */
+    private enum Operator {
+        LEAF, AND, OR, NOT
+    }
+
     /**
-     * SQL query string.
+     * Operator of the node.
      */
-    @NonNull
-    private String whereClause;
+    private final Operator operator;
 
     /**
-     * List of arguments for query.
+     * SQL condition of a leaf.
+     */
+    private final String condition;
+
+    /**
+     * Arguments of a leaf.
+     */
+    private final QueryArgument<?, ?>[] arguments;
+
+    /**
+     * Operands of an inner node.
+     */
+    private final Query[] operands;
+
+    /**
+     * Rendered SQL query string, written after arguments to publish both.
+     */
+    private volatile String whereClause;
+
+    /**
+     * Arguments of the rendered query in order of placeholders.
      */
-    @NonNull
     private List<QueryArgument<?, ?>> whereArgs;
 
     /**
@@ -37,82 +71,253 @@ public class Query {
      *
      * @see fqme.query.QueryArgument
      */
-    public Query(String whereClause, QueryArgument<?, ?>... whereArgs) {
-        this.whereClause = whereClause;
-        this.whereArgs = new ArrayList<>(Arrays.asList(whereArgs));
+    public Query(@NonNull String whereClause, QueryArgument<?, ?>... whereArgs) {
+        this(Operator.LEAF, whereClause, whereArgs.clone(), null);
+    }
+
+    /**
+     * Create a node of the tree.
+     *
+     * @param operator  operator of the node.
+     * @param condition SQL condition of a leaf.
+     * @param arguments arguments of a leaf.
+     * @param operands  operands of an inner node.
+     */
+    private Query(Operator operator, String condition, QueryArgument<?, ?>[] arguments, Query[] operands) {
+        this.operator = operator;
+        this.condition = condition;
+        this.arguments = arguments;
+        this.operands = operands;
     }
 
     /**
      * Make negation of this query.
      *
-     * @return this query with NOT operator.
+     * @return new query with NOT operator.
      */
     public Query not() {
-        this.whereClause = "(NOT (%s))".formatted(whereClause);
-        return this;
+        return new Query(Operator.NOT, null, null, new Query[] { this });
     }
 
     /**
-     * Add another query to this one with AND operator.
-     *
-     * Also adds the other query's arguments to this one.
+     * Combine this query with another one with AND operator.
      *
      * @param other
-     * @return this query with union of where clause and arguments.
+     * @return new query with union of where clause and arguments.
      *
      * @see fqme.query.QueryArgument
      */
-    public Query and(Query other) {
-        this.whereClause = "(%s) AND (%s)".formatted(whereClause, other.whereClause);
-        this.whereArgs.addAll(other.whereArgs);
-        return this;
+    public Query and(@NonNull Query other) {
+        return new Query(Operator.AND, null, null, new Query[] { this, other });
     }
 
     /**
-     * Add another query to this one with OR operator.
-     *
-     * Also adds the other query's arguments to this one.
+     * Combine this query with another one with OR operator.
      *
      * @param other
-     * @return this query with union of where clause and arguments.
+     * @return new query with union of where clause and arguments.
      *
      * @see fqme.query.QueryArgument
      */
-    public Query or(Query other) {
-        this.whereClause = "(%s) OR (%s)".formatted(whereClause, other.whereClause);
-        this.whereArgs.addAll(other.whereArgs);
-        return this;
+    public Query or(@NonNull Query other) {
+        return new Query(Operator.OR, null, null, new Query[] { this, other });
     }
 
     /**
      * Join queries with AND operator.
      *
      * @param queries queries to join.
-     * @return this query with union of where clause and arguments.
+     * @return new query with union of where clause and arguments.
      * @see fqme.query.QueryArgument
      */
     public static Query all(Iterable<Query> queries) {
-        Iterator<Query> iterator = queries.iterator();
-        Query query = iterator.next();
-        while (iterator.hasNext()) {
-            query.and(iterator.next());
-        }
-        return query;
+        return join(Operator.AND, queries);
     }
 
     /**
      * Join this queries with OR operator.
      *
      * @param queries queries to join.
-     * @return this query with union of where clause and arguments.
+     * @return new query with union of where clause and arguments.
      * @see fqme.query.QueryArgument
      */
     public static Query any(Iterable<Query> queries) {
+        return join(Operator.OR, queries);
+    }
+
+    /**
+     * Get SQL query string.
+     *
+     * Arguments are placeholders, so queries that differ only in arguments
+     * values render the same clause and share prepared statements.
+     *
+     * @return rendered where clause.
+     */
+    public String getWhereClause() {
+        if (whereClause == null) {
+            render();
+        }
+        return whereClause;
+    }
+
+    /**
+     * Get arguments of the query in order of placeholders.
+     *
+     * @return unmodifiable list of arguments.
+     */
+    public List<QueryArgument<?, ?>> getWhereArgs() {
+        if (whereClause == null) {
+            render();
+        }
+        return whereArgs;
+    }
+
+    /**
+     * Get SQL query string with arguments inlined as literals.
+     *
+     * Placeholders inside quoted strings and identifiers are left as is.
+     *
+     * @see QueryArgument#toSqlLiteral()
+     *
+     * @return where clause without placeholders.
+     */
+    public String getInlinedWhereClause() {
+        String clause = getWhereClause();
+        List<QueryArgument<?, ?>> args = getWhereArgs();
+        StringBuilder sql = new StringBuilder(clause.length());
+        int argIndex = 0;
+        char quote = 0;
+        for (int index = 0; index < clause.length(); index++) {
+            char symbol = clause.charAt(index);
+            if (quote != 0) {
+                if (symbol == quote) {
+                    quote = 0;
+                }
+                sql.append(symbol);
+            } else if (symbol == '\'' || symbol == '"') {
+                quote = symbol;
+                sql.append(symbol);
+            } else if (symbol == '?' && argIndex < args.size()) {
+                sql.append(args.get(argIndex++).toSqlLiteral());
+            } else {
+                sql.append(symbol);
+            }
+        }
+        return sql.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Query)) {
+            return false;
+        }
+        Query query = (Query) other;
+        return getWhereClause().equals(query.getWhereClause()) && getWhereArgs().equals(query.getWhereArgs());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getWhereClause(), getWhereArgs());
+    }
+
+    @Override
+    public String toString() {
+        return "Query(whereClause=%s, whereArgs=%s)".formatted(getWhereClause(), getWhereArgs());
+    }
+
+    /**
+     * Join queries with an operator into a single node.
+     *
+     * @param operator AND or OR.
+     * @param queries  queries to join.
+     * @return the query if there is only one, otherwise a new node.
+     */
+    private static Query join(Operator operator, Iterable<Query> queries) {
         Iterator<Query> iterator = queries.iterator();
-        Query query = iterator.next();
-        while (iterator.hasNext()) {
-            query.and(iterator.next());
+        Query first = iterator.next();
+        if (!iterator.hasNext()) {
+            return first;
+        }
+        List<Query> operands = new ArrayList<>();
+        operands.add(first);
+        iterator.forEachRemaining(query -> operands.add(Objects.requireNonNull(query)));
+        return new Query(operator, null, null, operands.toArray(Query[]::new));
+    }
+
+    /**
+     * Render where clause and collect arguments.
+     *
+     * Tree is walked with an explicit stack, so deep trees built by folding
+     * queries one by one do not overflow the call stack. Operands are wrapped
+     * in parentheses, except for operands with the same AND or OR operator as
+     * their parent, which are flattened into the parent chain.
+     */
+    private void render() {
+        StringBuilder sql = new StringBuilder();
+        List<QueryArgument<?, ?>> args = new ArrayList<>();
+
+        // contains queries to render and strings to append as is
+        Deque<Object> stack = new ArrayDeque<>();
+        stack.push(this);
+        while (!stack.isEmpty()) {
+            Object item = stack.pop();
+            if (item instanceof String) {
+                sql.append((String) item);
+                continue;
+            }
+
+            Query query = (Query) item;
+            switch (query.operator) {
+                case LEAF:
+                    sql.append(query.condition);
+                    args.addAll(Arrays.asList(query.arguments));
+                    break;
+                case NOT:
+                    stack.push(")");
+                    stack.push(query.operands[0]);
+                    sql.append("NOT (");
+                    break;
+                default:
+                    List<Query> chain = flatten(query);
+                    String separator = query.operator == Operator.AND ? ") AND (" : ") OR (";
+                    stack.push(")");
+                    for (int index = chain.size() - 1; index > 0; index--) {
+                        stack.push(chain.get(index));
+                        stack.push(separator);
+                    }
+                    stack.push(chain.get(0));
+                    sql.append("(");
+                    break;
+            }
+        }
+
+        this.whereArgs = Collections.unmodifiableList(args);
+        this.whereClause = sql.toString();
+    }
+
+    /**
+     * Collect operands of a chain of nodes with the same operator.
+     *
+     * @param query an AND or OR node.
+     * @return operands in order of appearance.
+     */
+    private static List<Query> flatten(Query query) {
+        List<Query> chain = new ArrayList<>();
+        Deque<Query> stack = new ArrayDeque<>();
+        stack.push(query);
+        while (!stack.isEmpty()) {
+            Query node = stack.pop();
+            if (node.operator != query.operator) {
+                chain.add(node);
+                continue;
+            }
+            for (int index = node.operands.length - 1; index >= 0; index--) {
+                stack.push(node.operands[index]);
+            }
         }
-        return query;
+        return chain;
     }
 }
@@ -1,6 +1,11 @@
 package fqme.query;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+
 import fqme.column.Column;
+import fqme.column.exceptions.UnsupportedValueType;
 import lombok.Data;
 import lombok.Getter;
 
@@ -27,6 +32,12 @@ public class QueryArgument<T extends Column<T, K>, K> {
     @Getter
     private final Object value;
 
+    /**
+     * Define if value is a collection bound as a sql array.
+     */
+    @Getter
+    private final boolean array;
+
     /**
      * Factory method for creating a query argument.
      *
@@ -35,6 +46,72 @@ public class QueryArgument<T extends Column<T, K>, K> {
      * @return query argument.
      */
     public static <T extends Column<T, K>, K> QueryArgument<T, K> of(Column<T, K> column, Object value) {
-        return new QueryArgument<>(column, value);
+        return new QueryArgument<>(column, value, false);
+    }
+
+    /**
+     * Factory method for creating an array query argument.
+     *
+     * @param column column to which the values belong.
+     * @param values values of the argument.
+     * @return query argument.
+     */
+    public static <T extends Column<T, K>, K> QueryArgument<T, K> ofArray(Column<T, K> column,
+            Collection<?> values) {
+        return new QueryArgument<>(column, values, true);
+    }
+
+    /**
+     * Set the argument to statement with its column.
+     *
+     * @param statement statement to set argument to.
+     * @param index     index of the argument in the statement.
+     * @throws UnsupportedValueType if value is not supported by the column.
+     */
+    public void setToStatement(PreparedStatement statement, int index) throws UnsupportedValueType, SQLException {
+        if (array) {
+            column.setArrayToStatement(statement, index, (Collection<?>) value);
+        } else {
+            column.setToStatement(statement, index, value);
+        }
+    }
+
+    /**
+     * Return the argument as a sql literal cast to the column type.
+     *
+     * Used by statements that cannot have bind arguments, such as COPY.
+     *
+     * @return a sql literal.
+     */
+    public String toSqlLiteral() {
+        if (!array) {
+            return literal(column.toText(value));
+        }
+        StringBuilder sql = new StringBuilder("ARRAY[");
+        boolean first = true;
+        for (Object element : (Collection<?>) value) {
+            if (!first) {
+                sql.append(", ");
+            }
+            sql.append(literal(column.toText(element)));
+            first = false;
+        }
+        return sql.append("]::").append(column.getSqlType()).append("[]").toString();
+    }
+
+    /**
+     * Quote a text as a literal of the column type.
+     *
+     * Text is written as an escape string constant, so backslashes are
+     * escaped the same way whatever {@code standard_conforming_strings} is.
+     *
+     * @param text text of a value or null.
+     * @return a sql literal.
+     */
+    private String literal(String text) {
+        if (text == null) {
+            return "NULL::" + column.getSqlType();
+        }
+        return "E'%s'::%s".formatted(text.replace("\\", "\\\\").replace("'", "''"), column.getSqlType());
     }
 }
@@ -0,0 +1,224 @@
+package fqme.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import fqme.column.Column;
+import fqme.model.Model;
+import lombok.Getter;
+
+/**
+ * Ordered part of query results.
+ *
+ * Slice is defined with chained methods, like columns:
+ *
+ * <pre>
+ * {@code
+ * Slice firstPage = Slice.orderBy(User.created_.desc(), User.id_.desc()).limit(20);
+ * List<User> users = userView.getMany(query, firstPage);
+ *
+ * Slice nextPage = Slice.orderBy(User.created_.desc(), User.id_.desc()).limit(20)
+ *         .afterModel(users.get(users.size() - 1));
+ * }
+ * </pre>
+ *
+ * Keyset pagination with {@link #after(Object...)} reads rows following a
+ * sort tuple, so the database seeks with an index instead of skipping
+ * {@link #offset(long)} rows, and every page is as cheap as the first one.
+ * Last order should be by a unique column, so the sort tuple identifies a
+ * row. Sort values must not be null.
+ */
+@Getter
+public class Slice {
+    /**
+     * Sort orders.
+     */
+    private final List<Order> orders;
+
+    /**
+     * Maximum number of rows or null if not limited.
+     */
+    private Integer limit = null;
+
+    /**
+     * Number of skipped rows.
+     */
+    private long offset = 0;
+
+    /**
+     * Sort values of the row to read after or null.
+     */
+    private Object[] after = null;
+
+    /**
+     * Model to read after or null.
+     */
+    private Model<?> afterModel = null;
+
+    /**
+     * Create a slice.
+     *
+     * @param orders sort orders.
+     */
+    private Slice(List<Order> orders) {
+        this.orders = orders;
+    }
+
+    /**
+     * Create a slice sorted by orders.
+     *
+     * @param orders sort orders.
+     * @return new slice.
+     */
+    public static Slice orderBy(Order... orders) {
+        return new Slice(List.of(orders));
+    }
+
+    /**
+     * Define maximum number of rows.
+     *
+     * @param limit maximum number of rows.
+     * @return this.
+     * @throws IllegalArgumentException if value is negative.
+     */
+    public Slice limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Define number of skipped rows.
+     *
+     * @param offset number of skipped rows.
+     * @return this.
+     * @throws IllegalArgumentException if value is negative.
+     */
+    public Slice offset(long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * Read rows after a sort tuple.
+     *
+     * @param values values of order columns, in order of orders.
+     * @return this.
+     * @throws IllegalArgumentException if number of values does not match
+     *                                  number of orders.
+     */
+    public Slice after(Object... values) {
+        if (values.length != orders.size()) {
+            throw new IllegalArgumentException("Number of values must match number of orders");
+        }
+        this.after = values.clone();
+        this.afterModel = null;
+        return this;
+    }
+
+    /**
+     * Read rows after a model, usually the last model of the previous page.
+     *
+     * @param model a model.
+     * @return this.
+     */
+    public Slice afterModel(Model<?> model) {
+        this.afterModel = model;
+        this.after = null;
+        return this;
+    }
+
+    /**
+     * Return ORDER BY clause.
+     *
+     * @return sql of orders or empty string if there are no orders.
+     */
+    public String getOrderByClause() {
+        if (orders.isEmpty()) {
+            return "";
+        }
+        StringBuilder sql = new StringBuilder(" ORDER BY ");
+        for (int index = 0; index < orders.size(); index++) {
+            if (index > 0) {
+                sql.append(", ");
+            }
+            sql.append(orders.get(index).getSql());
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Build query matching rows after a sort tuple.
+     *
+     * If all orders have the same direction the tuple is compared as a row
+     * value, {@code (a, b) > (?, ?)}, which is served by a single index range
+     * scan. Otherwise comparison is expanded to
+     * {@code a > ? OR (a = ? AND b < ?)}.
+     *
+     * @param values values of order columns, in order of orders.
+     * @return a query.
+     */
+    public Query buildKeysetQuery(Object[] values) {
+        if (values.length != orders.size() || orders.isEmpty()) {
+            throw new IllegalArgumentException("Number of values must match number of orders");
+        }
+        boolean descending = orders.get(0).isDescending();
+        boolean sameDirection = orders.stream().allMatch(order -> order.isDescending() == descending);
+
+        if (sameDirection) {
+            List<String> names = new ArrayList<>();
+            QueryArgument<?, ?>[] arguments = new QueryArgument<?, ?>[values.length];
+            for (int index = 0; index < values.length; index++) {
+                Column<?, ?> column = orders.get(index).getColumn();
+                names.add(column.getName());
+                arguments[index] = argument(column, values[index]);
+            }
+            String placeholders = String.join(", ", Collections.nCopies(values.length, "?"));
+            return new Query("(%s) %s (%s)".formatted(String.join(", ", names), descending ? "<" : ">",
+                    placeholders), arguments);
+        }
+
+        List<Query> alternatives = new ArrayList<>();
+        for (int index = 0; index < values.length; index++) {
+            List<Query> conditions = new ArrayList<>();
+            for (int equal = 0; equal < index; equal++) {
+                Column<?, ?> column = orders.get(equal).getColumn();
+                conditions.add(new Query(column.getName() + " = ?", argument(column, values[equal])));
+            }
+            Order order = orders.get(index);
+            Column<?, ?> column = order.getColumn();
+            conditions.add(new Query(column.getName() + (order.isDescending() ? " < ?" : " > ?"),
+                    argument(column, values[index])));
+            alternatives.add(Query.all(conditions));
+        }
+        return Query.any(alternatives);
+    }
+
+    /**
+     * Get sort values to read after.
+     *
+     * @return a copy of values or null.
+     */
+    public Object[] getAfter() {
+        return after == null ? null : Arrays.copyOf(after, after.length);
+    }
+
+    /**
+     * Create an argument of a column.
+     *
+     * @param column a column.
+     * @param value  a value.
+     * @return a query argument.
+     */
+    @SuppressWarnings("unchecked")
+    private static QueryArgument<?, ?> argument(Column<?, ?> column, Object value) {
+        return QueryArgument.of((Column<?, Object>) column, value);
+    }
+}
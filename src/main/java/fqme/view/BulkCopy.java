@@ -0,0 +1,300 @@
+package fqme.view;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.CopyOut;
+import org.postgresql.core.BaseConnection;
+
+import fqme.column.Column;
+import fqme.model.Model;
+import fqme.model.reflection.FieldsSupplier;
+import fqme.model.reflection.ModelReflection;
+import fqme.query.Query;
+
+/**
+ * Bulk transfer of models with PostgreSQL COPY.
+ *
+ * Models are encoded into COPY text format from their columns (see
+ * {@link Column#toText(Object)}) and sent through a fixed-size buffer, so
+ * memory does not depend on the number of models.
+ *
+ * @see View#copyIn(Stream)
+ * @see View#copyOut(Query, WritableByteChannel, CopyFormat)
+ */
+public class BulkCopy<T extends Model<T>> {
+    /**
+     * Default size of the transfer buffer in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Minimum size of the transfer buffer, enough for any encoded character.
+     */
+    private static final int MIN_BUFFER_SIZE = 16;
+
+    /**
+     * A model reflection of copied models.
+     */
+    private final ModelReflection<T> modelReflection;
+
+    /**
+     * Templates of the model.
+     */
+    private final SqlTemplates<T> templates;
+
+    /**
+     * A connection to the database.
+     */
+    private final Connection connection;
+
+    /**
+     * Size of the transfer buffer in bytes.
+     */
+    private final int bufferSize;
+
+    /**
+     * Create a bulk copy of a model.
+     *
+     * @param modelReflection a model reflection
+     * @param connection      a connection to the database
+     * @param bufferSize      size of the transfer buffer in bytes
+     */
+    public BulkCopy(ModelReflection<T> modelReflection, Connection connection, int bufferSize) {
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Buffer size must be at least %d bytes".formatted(MIN_BUFFER_SIZE));
+        }
+        this.modelReflection = modelReflection;
+        this.templates = SqlTemplates.of(modelReflection);
+        this.connection = connection;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Insert models with {@code COPY ... FROM STDIN}.
+     *
+     * Primary columns that are null in the first model are skipped to let the
+     * database generate them, so all models must have the same null primary
+     * columns. The stream is consumed but not closed.
+     *
+     * @param models models to insert
+     * @return number of inserted rows and throughput
+     * @throws SQLException             if a database access error occurs
+     * @throws IllegalArgumentException if models have different null primary
+     *                                  columns, a not nullable column is null
+     *                                  or a text is not valid UTF-16
+     */
+    public CopyReport copyIn(Stream<T> models) throws SQLException {
+        long start = System.nanoTime();
+        Iterator<T> iterator = models.iterator();
+        if (!iterator.hasNext()) {
+            return new CopyReport(0, 0, Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        FieldsSupplier<T> fieldsSupplier = modelReflection.getFieldsSupplier();
+        Column<?, ?>[] columns = templates.getColumns();
+        Object[] fieldsValues = fieldsSupplier.getFieldsValues(iterator.next());
+        int nullPattern = templates.getNullPattern(fieldsValues);
+        int[] settable = templates.getSettableColumns(nullPattern);
+
+        CopyManager copyManager = new CopyManager(connection.unwrap(BaseConnection.class));
+        CopyIn copyIn = copyManager.copyIn(templates.getCopyInSql(nullPattern));
+        ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        StringBuilder line = new StringBuilder();
+        long bytes = 0;
+        try {
+            while (true) {
+                if (templates.getNullPattern(fieldsValues) != nullPattern) {
+                    throw new IllegalArgumentException("All copied models must have the same null primary columns");
+                }
+                line.setLength(0);
+                for (int index = 0; index < settable.length; index++) {
+                    if (index > 0) {
+                        line.append('\t');
+                    }
+                    int columnIndex = settable[index];
+                    appendText(line, columns[columnIndex].toText(fieldsValues[columnIndex]));
+                }
+                line.append('\n');
+                bytes += encode(encoder, line, buffer, copyIn);
+
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                fieldsValues = fieldsSupplier.getFieldsValues(iterator.next());
+            }
+            bytes += flush(copyIn, buffer);
+            long rows = copyIn.endCopy();
+            return new CopyReport(rows, bytes, Duration.ofNanos(System.nanoTime() - start));
+        } catch (SQLException | RuntimeException e) {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Export models matching a query with {@code COPY (SELECT ...) TO STDOUT}.
+     *
+     * Rows are passed from the driver to the channel through the fixed-size
+     * buffer without building models. COPY has no bind arguments, so query
+     * arguments are inlined as literals.
+     *
+     * @see Query#getInlinedWhereClause()
+     *
+     * @param query   a query
+     * @param channel a channel to write to, not closed
+     * @param format  a data format
+     * @return number of exported rows and throughput
+     * @throws SQLException if a database access error occurs
+     * @throws IOException  if the channel cannot be written
+     */
+    public CopyReport copyOut(Query query, WritableByteChannel channel, CopyFormat format)
+            throws SQLException, IOException {
+        long start = System.nanoTime();
+        CopyManager copyManager = new CopyManager(connection.unwrap(BaseConnection.class));
+        CopyOut copyOut = copyManager.copyOut(templates.getCopyOutSql(query.getInlinedWhereClause(), format));
+        ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+        long bytes = 0;
+        try {
+            byte[] data;
+            while ((data = copyOut.readFromCopy()) != null) {
+                int offset = 0;
+                while (offset < data.length) {
+                    int length = Math.min(buffer.remaining(), data.length - offset);
+                    buffer.put(data, offset, length);
+                    offset += length;
+                    if (!buffer.hasRemaining()) {
+                        bytes += drain(channel, buffer);
+                    }
+                }
+            }
+            bytes += drain(channel, buffer);
+            return new CopyReport(copyOut.getHandledRowCount(), bytes, Duration.ofNanos(System.nanoTime() - start));
+        } catch (SQLException | IOException | RuntimeException e) {
+            if (copyOut.isActive()) {
+                copyOut.cancelCopy();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Write buffered bytes to a channel and clear the buffer.
+     *
+     * @param channel a channel
+     * @param buffer  a buffer in write mode
+     * @return number of written bytes
+     * @throws IOException if the channel cannot be written
+     */
+    private static int drain(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        int length = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        return length;
+    }
+
+    /**
+     * Encode a line into the buffer, sending the buffer whenever it is full.
+     *
+     * @param encoder an UTF-8 encoder
+     * @param line    a line to encode
+     * @param buffer  a buffer in write mode
+     * @param copyIn  an active copy
+     * @return number of sent bytes
+     * @throws SQLException             if a database access error occurs
+     * @throws IllegalArgumentException if the line is not valid UTF-16, such
+     *                                  as an unpaired surrogate
+     */
+    static long encode(CharsetEncoder encoder, CharSequence line, ByteBuffer buffer, CopyIn copyIn)
+            throws SQLException {
+        CharBuffer chars = CharBuffer.wrap(line);
+        long bytes = 0;
+        encoder.reset();
+        boolean flushing = false;
+        while (true) {
+            CoderResult result = flushing ? encoder.flush(buffer) : encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                bytes += flush(copyIn, buffer);
+            } else if (result.isError()) {
+                try {
+                    result.throwException();
+                } catch (CharacterCodingException e) {
+                    throw new IllegalArgumentException("Copied text is not valid UTF-16", e);
+                }
+            } else if (!flushing) {
+                flushing = true;
+            } else {
+                return bytes;
+            }
+        }
+    }
+
+    /**
+     * Send buffered bytes and clear the buffer.
+     *
+     * @param copyIn an active copy
+     * @param buffer a buffer in write mode
+     * @return number of sent bytes
+     * @throws SQLException if a database access error occurs
+     */
+    private static int flush(CopyIn copyIn, ByteBuffer buffer) throws SQLException {
+        int length = buffer.position();
+        if (length > 0) {
+            copyIn.writeToCopy(buffer.array(), 0, length);
+            buffer.clear();
+        }
+        return length;
+    }
+
+    /**
+     * Append a value in COPY text format, escaping delimiters.
+     *
+     * @param line a line to append to
+     * @param text text of a value or null
+     */
+    static void appendText(StringBuilder line, String text) {
+        if (text == null) {
+            line.append("\\N");
+            return;
+        }
+        for (int index = 0; index < text.length(); index++) {
+            char symbol = text.charAt(index);
+            switch (symbol) {
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                default:
+                    line.append(symbol);
+                    break;
+            }
+        }
+    }
+}
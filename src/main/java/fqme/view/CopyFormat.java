@@ -0,0 +1,41 @@
+package fqme.view;
+
+/**
+ * Data formats of COPY export.
+ *
+ * @see View#copyOut(fqme.query.Query, java.nio.channels.WritableByteChannel, CopyFormat)
+ */
+public enum CopyFormat {
+    /**
+     * Comma separated values with a header line.
+     */
+    CSV("(FORMAT csv, HEADER true)"),
+
+    /**
+     * PostgreSQL binary format.
+     */
+    BINARY("(FORMAT binary)");
+
+    /**
+     * Options of COPY statement.
+     */
+    private final String options;
+
+    /**
+     * Create a format.
+     *
+     * @param options options of COPY statement
+     */
+    CopyFormat(String options) {
+        this.options = options;
+    }
+
+    /**
+     * Get options of COPY statement.
+     *
+     * @return options
+     */
+    public String getOptions() {
+        return options;
+    }
+}
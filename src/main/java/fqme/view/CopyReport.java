@@ -0,0 +1,39 @@
+package fqme.view;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+/**
+ * Result of a COPY operation.
+ *
+ * @see View#copyIn(java.util.stream.Stream)
+ * @see View#copyOut(fqme.query.Query, java.nio.channels.WritableByteChannel, CopyFormat)
+ */
+@Data
+public class CopyReport {
+    /**
+     * Number of copied rows.
+     */
+    private final long rows;
+
+    /**
+     * Number of bytes sent or received.
+     */
+    private final long bytes;
+
+    /**
+     * Time spent on the operation.
+     */
+    private final Duration duration;
+
+    /**
+     * Average throughput of the operation.
+     *
+     * @return rows per second
+     */
+    public double getRowsPerSecond() {
+        long nanos = duration.toNanos();
+        return nanos == 0 ? 0 : rows * 1e9 / nanos;
+    }
+}
@@ -0,0 +1,153 @@
+package fqme.view;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import fqme.column.Column;
+import fqme.model.Model;
+import fqme.model.reflection.ModelReflection;
+
+/**
+ * Models loaded by a view session, keyed by their primary keys.
+ *
+ * A row loaded more than once is mapped to the instance loaded first, until
+ * it is put or deleted through the same view or the map is cleared. Models
+ * without primary columns or with null primary keys are not mapped.
+ *
+ * The map is not thread-safe, as a view session belongs to a single
+ * connection.
+ *
+ * @see View#withIdentityMap()
+ */
+public class IdentityMap<T extends Model<T>> {
+    /**
+     * A model reflection of mapped models.
+     */
+    private final ModelReflection<T> modelReflection;
+
+    /**
+     * Indexes of primary columns in fields values of a model.
+     */
+    private final int[] primaryIndexes;
+
+    /**
+     * Loaded models by primary keys.
+     */
+    private final Map<List<Object>, T> models = new HashMap<>();
+
+    /**
+     * Create an empty map for a model.
+     *
+     * @param modelReflection a model reflection
+     */
+    public IdentityMap(ModelReflection<T> modelReflection) {
+        this.modelReflection = modelReflection;
+
+        Column<?, ?>[] columns = modelReflection.getColumns().values().toArray(Column<?, ?>[]::new);
+        this.primaryIndexes = new int[(int) Arrays.stream(columns).filter(Column::isPrimary).count()];
+        int primaryIndex = 0;
+        for (int index = 0; index < columns.length; index++) {
+            if (columns[index].isPrimary()) {
+                primaryIndexes[primaryIndex++] = index;
+            }
+        }
+    }
+
+    /**
+     * Get a loaded model with the same primary key.
+     *
+     * @param model a model with primary key set
+     * @return a loaded model or null if it is not loaded
+     */
+    public T get(T model) {
+        List<Object> key = getKey(model);
+        return key == null ? null : models.get(key);
+    }
+
+    /**
+     * Register a model loaded from the database.
+     *
+     * @param model a loaded model
+     * @return a previously loaded instance of the row or the model itself
+     */
+    public T load(T model) {
+        List<Object> key = getKey(model);
+        if (key == null) {
+            return model;
+        }
+        return models.computeIfAbsent(key, k -> model);
+    }
+
+    /**
+     * Replace a mapped instance with a model written to the database.
+     *
+     * @param model a written model
+     */
+    public void store(T model) {
+        List<Object> key = getKey(model);
+        if (key != null) {
+            models.put(key, model);
+        }
+    }
+
+    /**
+     * Forget a model deleted from the database.
+     *
+     * @param model a deleted model
+     */
+    public void remove(T model) {
+        List<Object> key = getKey(model);
+        if (key != null) {
+            models.remove(key);
+        }
+    }
+
+    /**
+     * Forget a model deleted or overwritten in the database by its primary
+     * key.
+     *
+     * @param primaryKey values of primary columns
+     */
+    public void removeKey(List<Object> primaryKey) {
+        models.remove(primaryKey);
+    }
+
+    /**
+     * Get number of mapped models.
+     *
+     * @return number of mapped models
+     */
+    public int size() {
+        return models.size();
+    }
+
+    /**
+     * Forget all mapped models.
+     */
+    public void clear() {
+        models.clear();
+    }
+
+    /**
+     * Get primary key of a model.
+     *
+     * @param model a model
+     * @return values of primary columns or null if some of them are not set
+     */
+    private List<Object> getKey(T model) {
+        if (primaryIndexes.length == 0) {
+            return null;
+        }
+        Object[] fieldsValues = modelReflection.getFieldsSupplier().getFieldsValues(model);
+        Object[] key = new Object[primaryIndexes.length];
+        for (int index = 0; index < primaryIndexes.length; index++) {
+            key[index] = fieldsValues[primaryIndexes[index]];
+            if (key[index] == null) {
+                return null;
+            }
+        }
+        return Arrays.asList(key);
+    }
+}
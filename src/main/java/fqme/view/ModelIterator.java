@@ -0,0 +1,160 @@
+package fqme.view;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import fqme.column.exceptions.UnsupportedSqlType;
+import fqme.model.Model;
+import fqme.model.reflection.ModelReflection;
+import fqme.view.exceptions.CannotFetchModel;
+
+/**
+ * Iterator that lazily builds models from a server-side cursor.
+ *
+ * Rows are fetched from the database in batches of the statement fetch size,
+ * so memory does not depend on the number of matched rows.
+ * Cursors work only inside a transaction, so if the connection is in
+ * autocommit mode it is switched off until the iterator is closed.
+ *
+ * The iterator owns its statement and must be closed, what happens
+ * automatically when it is exhausted.
+ *
+ * @see View#iterate(fqme.query.Query, int)
+ * @see View#stream(fqme.query.Query, int)
+ */
+public class ModelIterator<T extends Model<T>> implements Iterator<T>, AutoCloseable {
+    /**
+     * A statement owned by the iterator.
+     */
+    private final PreparedStatement statement;
+
+    /**
+     * A connection of the statement.
+     */
+    private final Connection connection;
+
+    /**
+     * Define if autocommit must be restored on close.
+     */
+    private final boolean restoreAutoCommit;
+
+    /**
+     * A result set of the statement.
+     */
+    private ResultSet resultSet;
+
+    /**
+     * A mapper of the result set rows.
+     */
+    private RowMapper<T> rowMapper;
+
+    /**
+     * Define if the result set is moved to a row that is not returned yet.
+     */
+    private boolean hasPending = false;
+
+    /**
+     * Define if the iterator is closed.
+     */
+    private boolean closed = false;
+
+    /**
+     * Execute a statement and create an iterator over its rows.
+     *
+     * @param modelReflection a model reflection of iterated models
+     * @param statement       a statement with set arguments and fetch size
+     * @throws SQLException if a database access error occurs
+     */
+    public ModelIterator(ModelReflection<T> modelReflection, PreparedStatement statement) throws SQLException {
+        this.statement = statement;
+        this.connection = statement.getConnection();
+        this.restoreAutoCommit = connection.getAutoCommit();
+
+        try {
+            if (restoreAutoCommit) {
+                connection.setAutoCommit(false);
+            }
+            this.resultSet = statement.executeQuery();
+            this.rowMapper = RowMapper.of(modelReflection, resultSet);
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Check if there are more models.
+     *
+     * @throws CannotFetchModel if a database access error occurs
+     */
+    @Override
+    public boolean hasNext() {
+        if (hasPending) {
+            return true;
+        }
+        if (closed) {
+            return false;
+        }
+        try {
+            hasPending = resultSet.next();
+        } catch (SQLException e) {
+            close();
+            throw new CannotFetchModel(e);
+        }
+        if (!hasPending) {
+            close();
+        }
+        return hasPending;
+    }
+
+    /**
+     * Build the next model.
+     *
+     * @throws CannotFetchModel if a model cannot be built from the row
+     */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        hasPending = false;
+        try {
+            return rowMapper.map(resultSet);
+        } catch (SQLException | UnsupportedSqlType e) {
+            close();
+            throw new CannotFetchModel(e);
+        }
+    }
+
+    /**
+     * Close the result set and the statement, and restore autocommit mode.
+     *
+     * @throws CannotFetchModel if a database access error occurs
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        hasPending = false;
+        try {
+            try {
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                statement.close();
+            } finally {
+                if (restoreAutoCommit) {
+                    connection.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new CannotFetchModel(e);
+        }
+    }
+}
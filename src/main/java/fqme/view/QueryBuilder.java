@@ -1,13 +1,14 @@
 package fqme.view;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Collection;
 import java.util.List;
 
 import fqme.column.Column;
 import fqme.model.Model;
 import fqme.model.reflection.ModelReflection;
 import fqme.query.Query;
+import fqme.query.QueryArgument;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -15,6 +16,12 @@ import lombok.RequiredArgsConstructor;
  */
 @RequiredArgsConstructor
 public class QueryBuilder<T extends Model<T>> {
+    /**
+     * Maximum number of keys bound in one query by
+     * {@link #fetchPrimaryKeys(Collection)}.
+     */
+    public static final int PRIMARY_KEYS_CHUNK_SIZE = 50000;
+
     /**
      * A model class that is associated with this view.
      */
@@ -27,18 +34,112 @@ public class QueryBuilder<T extends Model<T>> {
      * @return query that fetch by primary keys.
      */
     public Query fetchPrimaryKeys(T model) {
-        LinkedHashMap<String, Object> fields = modelReflection.getFieldsSupplier().getFieldsValues(model);
+        Object[] fields = modelReflection.getFieldsSupplier().getFieldsValues(model);
 
         List<Query> queries = new ArrayList<>();
+        int index = 0;
         for (Column<?, ?> column : modelReflection.getColumns().values()) {
             if (column.isPrimary()) {
                 @SuppressWarnings("unchecked")
                 Column<?, Object> typedColumn = (Column<?, Object>) column;
 
-                Object value = fields.get(column.getName());
+                Object value = fields[index];
                 queries.add(typedColumn.eq(value));
             }
+            index++;
         }
         return Query.all(queries);
     }
+
+    /**
+     * Create queries that fetch many models by primary keys.
+     *
+     * Keys of each primary column are bound as a single array, so the
+     * statement does not depend on the number of models. A single primary
+     * column is matched with {@code = ANY(?)}, composite keys are matched
+     * against rows of unnested arrays. Models are split into chunks of
+     * {@link #PRIMARY_KEYS_CHUNK_SIZE}, models with null primary keys are
+     * skipped as they cannot match any row.
+     *
+     * @param models model instances
+     * @return a query per chunk of models, empty if there is nothing to fetch.
+     */
+    public List<Query> fetchPrimaryKeys(Collection<T> models) {
+        List<Integer> primaryIndexes = new ArrayList<>();
+        List<Column<?, ?>> primaryColumns = new ArrayList<>();
+        int index = 0;
+        for (Column<?, ?> column : modelReflection.getColumns().values()) {
+            if (column.isPrimary()) {
+                primaryIndexes.add(index);
+                primaryColumns.add(column);
+            }
+            index++;
+        }
+
+        List<Query> queries = new ArrayList<>();
+        if (primaryColumns.isEmpty()) {
+            return queries;
+        }
+
+        List<List<Object>> keys = newKeysChunk(primaryColumns.size());
+        for (T model : models) {
+            Object[] fields = modelReflection.getFieldsSupplier().getFieldsValues(model);
+            if (primaryIndexes.stream().anyMatch(primaryIndex -> fields[primaryIndex] == null)) {
+                continue;
+            }
+            for (int keyIndex = 0; keyIndex < primaryIndexes.size(); keyIndex++) {
+                keys.get(keyIndex).add(fields[primaryIndexes.get(keyIndex)]);
+            }
+            if (keys.get(0).size() == PRIMARY_KEYS_CHUNK_SIZE) {
+                queries.add(buildPrimaryKeysQuery(primaryColumns, keys));
+                keys = newKeysChunk(primaryColumns.size());
+            }
+        }
+        if (!keys.get(0).isEmpty()) {
+            queries.add(buildPrimaryKeysQuery(primaryColumns, keys));
+        }
+        return queries;
+    }
+
+    /**
+     * Create empty lists of keys, one per primary column.
+     *
+     * @param primaryCount number of primary columns
+     * @return lists of keys
+     */
+    private static List<List<Object>> newKeysChunk(int primaryCount) {
+        List<List<Object>> keys = new ArrayList<>(primaryCount);
+        for (int index = 0; index < primaryCount; index++) {
+            keys.add(new ArrayList<>());
+        }
+        return keys;
+    }
+
+    /**
+     * Create query matching a chunk of primary keys.
+     *
+     * @param primaryColumns primary columns of the model
+     * @param keys           keys of each primary column
+     * @return a query with one array argument per primary column
+     */
+    private static Query buildPrimaryKeysQuery(List<Column<?, ?>> primaryColumns, List<List<Object>> keys) {
+        if (primaryColumns.size() == 1) {
+            @SuppressWarnings("unchecked")
+            Column<?, Object> column = (Column<?, Object>) primaryColumns.get(0);
+            return column.in(keys.get(0));
+        }
+
+        List<String> names = new ArrayList<>();
+        List<String> arrays = new ArrayList<>();
+        QueryArgument<?, ?>[] arguments = new QueryArgument<?, ?>[primaryColumns.size()];
+        for (int index = 0; index < primaryColumns.size(); index++) {
+            @SuppressWarnings("unchecked")
+            Column<?, Object> column = (Column<?, Object>) primaryColumns.get(index);
+            names.add(column.getName());
+            arrays.add("?::%s[]".formatted(column.getSqlType()));
+            arguments[index] = QueryArgument.ofArray(column, keys.get(index));
+        }
+        return new Query("(%s) IN (SELECT * FROM unnest(%s))"
+                .formatted(String.join(", ", names), String.join(", ", arrays)), arguments);
+    }
 }
@@ -0,0 +1,27 @@
+package fqme.view;
+
+/**
+ * Rows returned by write statements.
+ *
+ * Returning less skips transfer and decoding of rows that the caller does
+ * not need.
+ *
+ * @see StatementBuilder#buildPutStatement(java.util.List, Returning)
+ * @see StatementBuilder#buildDeleteStatement(fqme.query.Query, Returning)
+ */
+public enum Returning {
+    /**
+     * All columns of written rows, to build models.
+     */
+    ALL,
+
+    /**
+     * Primary columns of written rows, only for models with primary columns.
+     */
+    KEYS,
+
+    /**
+     * Nothing, only the number of written rows is known.
+     */
+    NONE
+}
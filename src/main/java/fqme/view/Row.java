@@ -0,0 +1,186 @@
+package fqme.view;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import fqme.column.Column;
+import fqme.query.Aggregate;
+
+/**
+ * Values of a single row selected by a projection.
+ *
+ * Values are accessed by columns or labels of the result set. Rows of the
+ * same result share their labels.
+ *
+ * @see View#select(fqme.query.Query, Column...)
+ * @see View#aggregate(fqme.query.Query, Aggregate...)
+ */
+public class Row {
+    /**
+     * Positions of values by labels.
+     */
+    private final Map<String, Integer> positions;
+
+    /**
+     * Values of the row.
+     */
+    private final Object[] values;
+
+    /**
+     * Create a row.
+     *
+     * @param positions positions of values by labels, shared between rows
+     * @param values    values of the row
+     */
+    Row(Map<String, Integer> positions, Object[] values) {
+        this.positions = positions;
+        this.values = values;
+    }
+
+    /**
+     * Build positions of labels for rows of a result.
+     *
+     * @param labels labels in order of values
+     * @return positions by labels
+     */
+    static Map<String, Integer> positionsOf(List<String> labels) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int index = 0; index < labels.size(); index++) {
+            positions.put(labels.get(index), index);
+        }
+        return positions;
+    }
+
+    /**
+     * Get value of a column.
+     *
+     * @param column a selected column
+     * @return value of the column
+     * @throws IllegalArgumentException if the column is not selected
+     */
+    @SuppressWarnings("unchecked")
+    public <K> K get(Column<?, K> column) {
+        return (K) get(column.getName());
+    }
+
+    /**
+     * Get value by its label.
+     *
+     * @param label a label of a selected value
+     * @return a value
+     * @throws IllegalArgumentException if there is no such label
+     */
+    public Object get(String label) {
+        Integer position = positions.get(label);
+        if (position == null) {
+            throw new IllegalArgumentException("Column %s is not selected".formatted(label));
+        }
+        return values[position];
+    }
+
+    /**
+     * Get value of an aggregate.
+     *
+     * @param aggregate a selected aggregate
+     * @return value of the aggregate
+     * @throws IllegalArgumentException if the aggregate is not selected
+     */
+    public Object get(Aggregate aggregate) {
+        return get(aggregate.getLabel());
+    }
+
+    /**
+     * Get numeric value by its label as long.
+     *
+     * @param label a label of a selected value
+     * @return a value or 0 if it is null
+     * @throws IllegalArgumentException if there is no such label
+     */
+    public long getLong(String label) {
+        Number value = (Number) get(label);
+        return value == null ? 0 : value.longValue();
+    }
+
+    /**
+     * Get value of a numeric aggregate as long.
+     *
+     * @param aggregate a selected aggregate
+     * @return a value or 0 if it is null
+     */
+    public long getLong(Aggregate aggregate) {
+        return getLong(aggregate.getLabel());
+    }
+
+    /**
+     * Get numeric value by its label as double.
+     *
+     * @param label a label of a selected value
+     * @return a value or 0 if it is null
+     * @throws IllegalArgumentException if there is no such label
+     */
+    public double getDouble(String label) {
+        Number value = (Number) get(label);
+        return value == null ? 0 : value.doubleValue();
+    }
+
+    /**
+     * Get value of a numeric aggregate as double.
+     *
+     * @param aggregate a selected aggregate
+     * @return a value or 0 if it is null
+     */
+    public double getDouble(Aggregate aggregate) {
+        return getDouble(aggregate.getLabel());
+    }
+
+    /**
+     * Check if value by its label is null.
+     *
+     * @param label a label of a selected value
+     * @return true if the value is null
+     * @throws IllegalArgumentException if there is no such label
+     */
+    public boolean isNull(String label) {
+        return get(label) == null;
+    }
+
+    /**
+     * Get number of values.
+     *
+     * @return number of values
+     */
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Row)) {
+            return false;
+        }
+        Row row = (Row) other;
+        return positions.equals(row.positions) && Arrays.equals(values, row.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        String[] labels = new String[values.length];
+        positions.forEach((label, position) -> labels[position] = label);
+        StringJoiner joiner = new StringJoiner(", ", "Row(", ")");
+        for (int index = 0; index < values.length; index++) {
+            joiner.add(labels[index] + "=" + values[index]);
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,115 @@
+package fqme.view;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import fqme.column.Column;
+import fqme.column.exceptions.UnsupportedSqlType;
+import fqme.model.Model;
+import fqme.model.reflection.ModelFactory;
+import fqme.model.reflection.ModelReflection;
+
+/**
+ * Maps rows of a single result set to models.
+ *
+ * Positions of model columns are resolved once from result set metadata,
+ * so rows are read by index with typed getters of columns
+ * (see {@link Column#fromResultSet(ResultSet, int)}) instead of looking up
+ * every cell by its label.
+ *
+ * Mapper reuses its arguments buffer, so it must not be shared between
+ * threads.
+ */
+public class RowMapper<T extends Model<T>> {
+    /**
+     * Columns of the model.
+     */
+    private final Column<?, ?>[] columns;
+
+    /**
+     * Positions of model columns in the result set.
+     */
+    private final int[] positions;
+
+    /**
+     * A factory that creates models from columns values.
+     */
+    private final ModelFactory<T> modelFactory;
+
+    /**
+     * Reusable buffer with columns values of the current row.
+     */
+    private final Object[] fields;
+
+    /**
+     * Create a mapper for result set metadata.
+     *
+     * @param modelReflection a model reflection
+     * @param metaData        metadata of a result set
+     * @throws SQLException if the result set has no column of the model
+     */
+    public RowMapper(ModelReflection<T> modelReflection, ResultSetMetaData metaData) throws SQLException {
+        this.columns = modelReflection.getColumns().values().toArray(Column<?, ?>[]::new);
+        this.positions = new int[columns.length];
+        this.modelFactory = modelReflection.getModelFactory();
+        this.fields = new Object[columns.length];
+
+        for (int index = 0; index < columns.length; index++) {
+            positions[index] = findColumn(metaData, columns[index].getName());
+        }
+    }
+
+    /**
+     * Create a mapper for a result set.
+     *
+     * @param modelReflection a model reflection
+     * @param resultSet       a result set
+     * @return a mapper
+     * @throws SQLException if the result set has no column of the model
+     */
+    public static <K extends Model<K>> RowMapper<K> of(ModelReflection<K> modelReflection, ResultSet resultSet)
+            throws SQLException {
+        return new RowMapper<>(modelReflection, resultSet.getMetaData());
+    }
+
+    /**
+     * Build a model from the current row.
+     *
+     * The model remembers read values, see {@link Model#loadedValues()}.
+     *
+     * @param resultSet a result set the mapper was created for
+     * @return a model
+     * @throws SQLException       if a database access error occurs
+     * @throws UnsupportedSqlType if a value cannot be converted
+     */
+    public T map(ResultSet resultSet) throws SQLException, UnsupportedSqlType {
+        for (int index = 0; index < columns.length; index++) {
+            fields[index] = columns[index].fromResultSet(resultSet, positions[index]);
+        }
+        T model = modelFactory.fromFields(fields);
+        model.markLoaded(fields.clone());
+        return model;
+    }
+
+    /**
+     * Find position of a column in result set metadata.
+     *
+     * Labels are compared ignoring case, as unquoted identifiers are
+     * folded by the database.
+     *
+     * @param metaData   metadata of a result set
+     * @param columnName a column name
+     * @return position of the column
+     * @throws SQLException if there is no such column
+     */
+    private static int findColumn(ResultSetMetaData metaData, String columnName) throws SQLException {
+        int count = metaData.getColumnCount();
+        for (int position = 1; position <= count; position++) {
+            if (metaData.getColumnLabel(position).equalsIgnoreCase(columnName)) {
+                return position;
+            }
+        }
+        throw new SQLException("Column %s not found in result set".formatted(columnName));
+    }
+}
@@ -0,0 +1,262 @@
+package fqme.view;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import fqme.column.Column;
+import fqme.column.common.ForeignColumn;
+import fqme.connection.ConnectionManager;
+import fqme.connection.DBConfig;
+import fqme.model.Model;
+import fqme.model.reflection.ModelReflection;
+import lombok.Cleanup;
+
+/**
+ * Registry of verified database schemas.
+ *
+ * Tables of models are created once per database: the first view of a model
+ * bound to a {@link DBConfig} creates tables of all models bound to that
+ * configuration in one transaction, ordered so that referenced tables are
+ * created first, followed by indexes of the tables. Later views of these
+ * models are created without any database round trip.
+ *
+ * Models not bound with {@link ConnectionManager} are verified one by one per
+ * database url, or together with bound models referencing them by
+ * {@link ForeignColumn}.
+ *
+ * Tables are verified only once their transaction is committed. A view
+ * created on a connection in a transaction runs the statements in that
+ * transaction, which the caller may roll back, so tables are checked again by
+ * next views until one is created on a connection in autocommit mode.
+ *
+ * @see View#View(Class, Connection)
+ */
+public class SchemaRegistry {
+    /**
+     * Verified model reflections by database key.
+     */
+    private static final Map<Object, Set<ModelReflection<?>>> verified = new ConcurrentHashMap<>();
+
+    /**
+     * Locks serializing schema creation per database key. Views waiting for
+     * the statements do not pin the carrier of a virtual thread, as they
+     * would in a synchronized block.
+     */
+    private static final Map<Object, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    /* Prevent the SchemaRegistry class from being instantiated. */
+    private SchemaRegistry() {
+    }
+
+    /**
+     * Ensure that table of a model exists in the database of a connection.
+     *
+     * @param modelReflection a model reflection
+     * @param connection      a connection to the database
+     * @throws SQLException if a database access error occurs
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static void ensureSchema(ModelReflection<?> modelReflection, Connection connection) throws SQLException {
+        DBConfig dbConfig = ConnectionManager.getDBConfig(modelReflection.getModelClass());
+        Object key = dbConfig != null ? dbConfig : connection.getMetaData().getURL();
+        if (isVerified(key, modelReflection)) {
+            return;
+        }
+
+        ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            if (isVerified(key, modelReflection)) {
+                return;
+            }
+            List<ModelReflection<?>> models = new ArrayList<>();
+            if (dbConfig != null) {
+                for (Class modelClass : ConnectionManager.getBoundModels(dbConfig)) {
+                    ModelReflection<?> bound = Model.getModelReflection(modelClass);
+                    if (!isVerified(key, bound)) {
+                        models.add(bound);
+                    }
+                }
+            }
+            if (!models.contains(modelReflection)) {
+                models.add(modelReflection);
+            }
+            addReferencedUnbound(key, models);
+            if (createTables(sortByDependencies(models), connection)) {
+                verified.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).addAll(models);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Create tables of all models bound to a database.
+     *
+     * Models not bound with {@link ConnectionManager} are created only if
+     * bound models reference them.
+     *
+     * @param dbConfig   a database configuration
+     * @param connection a connection to the database
+     * @throws SQLException if a database access error occurs
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static void bootstrap(DBConfig dbConfig, Connection connection) throws SQLException {
+        List<Class<? extends Model<?>>> modelClasses = ConnectionManager.getBoundModels(dbConfig);
+        if (!modelClasses.isEmpty()) {
+            ensureSchema(Model.getModelReflection((Class) modelClasses.get(0)), connection);
+        }
+    }
+
+    /**
+     * Forget verified schemas, so tables are checked again by next views.
+     */
+    public static void reset() {
+        verified.clear();
+    }
+
+    /**
+     * Sort models so that models referenced by foreign columns go first.
+     *
+     * Independent models are ordered by table name. Models of a reference
+     * cycle are appended in the same order.
+     *
+     * @param models model reflections
+     * @return sorted model reflections
+     */
+    public static List<ModelReflection<?>> sortByDependencies(Collection<ModelReflection<?>> models) {
+        Map<String, ModelReflection<?>> byTable = new LinkedHashMap<>();
+        models.stream()
+                .sorted(Comparator.comparing(ModelReflection::getTableName))
+                .forEach(model -> byTable.put(model.getTableName(), model));
+
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        for (ModelReflection<?> model : byTable.values()) {
+            Set<String> referenced = new HashSet<>();
+            for (Column<?, ?> column : model.getColumns().values()) {
+                if (column instanceof ForeignColumn) {
+                    String tableName = ((ForeignColumn) column).getReferencedTableName();
+                    if (byTable.containsKey(tableName) && !tableName.equals(model.getTableName())) {
+                        referenced.add(tableName);
+                    }
+                }
+            }
+            dependencies.put(model.getTableName(), referenced);
+        }
+
+        List<ModelReflection<?>> sorted = new ArrayList<>();
+        Set<String> done = new HashSet<>();
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (ModelReflection<?> model : byTable.values()) {
+                String tableName = model.getTableName();
+                if (!done.contains(tableName) && done.containsAll(dependencies.get(tableName))) {
+                    sorted.add(model);
+                    done.add(tableName);
+                    progress = true;
+                }
+            }
+        }
+        for (ModelReflection<?> model : byTable.values()) {
+            if (!done.contains(model.getTableName())) {
+                sorted.add(model);
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Add not verified unbound models referenced by models, as their tables
+     * must exist in the same database.
+     *
+     * @param key    a database key
+     * @param models model reflections to extend
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static void addReferencedUnbound(Object key, List<ModelReflection<?>> models) {
+        for (int index = 0; index < models.size(); index++) {
+            for (Column<?, ?> column : models.get(index).getColumns().values()) {
+                if (!(column instanceof ForeignColumn)) {
+                    continue;
+                }
+                Class referencedClass = ((ForeignColumn) column).getReferencedModelClass();
+                ModelReflection<?> referenced = Model.getModelReflection(referencedClass);
+                if (ConnectionManager.getDBConfig(referencedClass) == null && !models.contains(referenced)
+                        && !isVerified(key, referenced)) {
+                    models.add(referenced);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check if a model is verified for a database.
+     *
+     * @param key             a database key
+     * @param modelReflection a model reflection
+     * @return true if table of the model exists
+     */
+    private static boolean isVerified(Object key, ModelReflection<?> modelReflection) {
+        Set<ModelReflection<?>> models = verified.get(key);
+        return models != null && models.contains(modelReflection);
+    }
+
+    /**
+     * Create tables and then their indexes in a single batch.
+     *
+     * Tables are created in a separate transaction if the connection is in
+     * autocommit mode, otherwise in the current one.
+     *
+     * @param models     sorted model reflections
+     * @param connection a connection to the database
+     * @return true if tables are committed, false if they are left to the
+     *         transaction of the caller
+     * @throws SQLException if a database access error occurs
+     */
+    private static boolean createTables(List<ModelReflection<?>> models, Connection connection)
+            throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        if (autoCommit) {
+            connection.setAutoCommit(false);
+        }
+        try {
+            @Cleanup
+            Statement statement = connection.createStatement();
+            for (ModelReflection<?> model : models) {
+                statement.addBatch(SqlTemplates.of(model).getCreateTableSql());
+            }
+            for (ModelReflection<?> model : models) {
+                for (String sql : SqlTemplates.of(model).getCreateIndexesSql()) {
+                    statement.addBatch(sql);
+                }
+            }
+            statement.executeBatch();
+            if (autoCommit) {
+                connection.commit();
+            }
+            return autoCommit;
+        } catch (SQLException e) {
+            if (autoCommit) {
+                connection.rollback();
+            }
+            throw e;
+        } finally {
+            if (autoCommit) {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+}
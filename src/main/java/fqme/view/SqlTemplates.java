@@ -0,0 +1,652 @@
+package fqme.view;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import fqme.column.Column;
+import fqme.column.common.numeric.SerialColumn;
+import fqme.model.Model;
+import fqme.query.Aggregate;
+import fqme.query.Assignment;
+import fqme.model.reflection.Index;
+import fqme.model.reflection.ModelReflection;
+import lombok.Getter;
+
+/**
+ * Precomputed SQL of a model, shared by all statement builders of the model.
+ *
+ * Put statements depend on which primary columns are null, as such columns
+ * are skipped to let the database generate them. This null pattern is a bit
+ * mask over primary columns of the model.
+ *
+ * Updates of loaded models set only changed columns, described by a bit
+ * mask over all columns of the model (see
+ * {@link #getChangedColumns(Object[], Object[])}).
+ *
+ * Multi-row puts and updates bind one array per column and unnest them, so
+ * their SQL does not depend on the number of rows and every chunk of the
+ * same shape reuses one prepared statement.
+ *
+ * @see StatementBuilder
+ */
+public class SqlTemplates<T extends Model<T>> {
+    /**
+     * Templates of registered models.
+     */
+    private static final Map<ModelReflection<?>, SqlTemplates<?>> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Maximum number of cached update statements per model and returned
+     * rows, least recently used statements are rebuilt.
+     */
+    private static final int MAX_UPDATE_TEMPLATES = 256;
+
+    /**
+     * Changed columns of a model that must be written with a full put.
+     */
+    public static final long UNTRACKED = -1L;
+
+    /**
+     * Alias of the values list in update statements.
+     */
+    private static final String VALUES_ALIAS = "fqme_values";
+
+    /**
+     * All columns of the model in order of the table.
+     */
+    @Getter
+    private final Column<?, ?>[] columns;
+
+    /**
+     * Primary columns of the model.
+     */
+    private final Column<?, ?>[] primaryColumns;
+
+    /**
+     * Statement for creating a table.
+     */
+    @Getter
+    private final String createTableSql;
+
+    /**
+     * Statements for creating indexes of the table.
+     */
+    @Getter
+    private final List<String> createIndexesSql;
+
+    /**
+     * Prefix of select statements before where clause.
+     */
+    private final String selectPrefix;
+
+    /**
+     * Prefix of delete statements before where clause.
+     */
+    private final String deletePrefix;
+
+    /**
+     * Table name of the model.
+     */
+    private final String tableName;
+
+    /**
+     * Indexes of settable columns for each null pattern.
+     */
+    private final Map<Integer, int[]> settableColumns = new ConcurrentHashMap<>();
+
+    /**
+     * RETURNING clauses of write statements.
+     */
+    private final Map<Returning, String> returningClauses = new EnumMap<>(Returning.class);
+
+    /**
+     * Put statements for null pattern, by returned rows.
+     */
+    private final Map<Returning, Map<Integer, String>> putSql = new EnumMap<>(Returning.class);
+
+    /**
+     * RETURNING clauses of update statements, qualified by the table name.
+     */
+    private final Map<Returning, String> updateReturningClauses = new EnumMap<>(Returning.class);
+
+    /**
+     * Indexes of columns bound by update statements for changed columns.
+     */
+    private final Map<Long, int[]> boundColumns = lruCache(MAX_UPDATE_TEMPLATES);
+
+    /**
+     * Update statements for changed columns, by returned rows.
+     */
+    private final Map<Returning, Map<Long, String>> updateSql = new EnumMap<>(Returning.class);
+
+    /**
+     * Statements reserving generated keys by null patterns.
+     */
+    private final Map<Integer, String> nextKeysSql = new ConcurrentHashMap<>();
+
+    /**
+     * Build templates of a model.
+     *
+     * @param modelReflection a model reflection
+     */
+    private SqlTemplates(ModelReflection<T> modelReflection) {
+        this.tableName = modelReflection.getTableName();
+        this.columns = modelReflection.getColumns().values().toArray(Column<?, ?>[]::new);
+
+        List<Column<?, ?>> primary = new ArrayList<>();
+        List<String> columnsDefinitions = new ArrayList<>();
+        for (Column<?, ?> column : columns) {
+            columnsDefinitions.add("%s %s".formatted(column.getName(), column.getSqlDefinition()));
+            if (column.isPrimary()) {
+                primary.add(column);
+                columnsDefinitions.add("CONSTRAINT %s_%s_unique UNIQUE (%s)"
+                        .formatted(tableName, column.getName(), column.getName()));
+            }
+        }
+        if (primary.size() > Integer.SIZE) {
+            throw new IllegalArgumentException("Too many primary columns in " + tableName);
+        }
+        this.primaryColumns = primary.toArray(Column<?, ?>[]::new);
+
+        List<String> primaryNames = new ArrayList<>();
+        List<String> qualifiedPrimaryNames = new ArrayList<>();
+        for (Column<?, ?> column : primaryColumns) {
+            primaryNames.add(column.getName());
+            qualifiedPrimaryNames.add(tableName + "." + column.getName());
+        }
+        returningClauses.put(Returning.ALL, " RETURNING *");
+        returningClauses.put(Returning.NONE, "");
+        updateReturningClauses.put(Returning.ALL, " RETURNING %s.*".formatted(tableName));
+        updateReturningClauses.put(Returning.NONE, "");
+        if (!primaryNames.isEmpty()) {
+            returningClauses.put(Returning.KEYS, " RETURNING " + String.join(", ", primaryNames));
+            updateReturningClauses.put(Returning.KEYS, " RETURNING " + String.join(", ", qualifiedPrimaryNames));
+        }
+        for (Returning returning : Returning.values()) {
+            putSql.put(returning, new ConcurrentHashMap<>());
+            updateSql.put(returning, lruCache(MAX_UPDATE_TEMPLATES));
+        }
+
+        this.createTableSql = "CREATE TABLE IF NOT EXISTS %s (%s)"
+                .formatted(tableName, String.join(", ", columnsDefinitions));
+        this.createIndexesSql = buildCreateIndexesSql(modelReflection);
+        this.selectPrefix = "SELECT * FROM %s WHERE ".formatted(tableName);
+        this.deletePrefix = "DELETE FROM %s WHERE ".formatted(tableName);
+    }
+
+    /**
+     * Create a thread-safe map evicting least recently used entries.
+     *
+     * @param capacity maximum number of entries
+     * @return an empty map
+     */
+    private static <K, V> Map<K, V> lruCache(int capacity) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    /**
+     * Get RETURNING clause of returned rows.
+     *
+     * @param clauses   RETURNING clauses of a statement kind
+     * @param returning returned rows
+     * @return a clause, empty if nothing is returned
+     * @throws IllegalArgumentException if keys are returned, but the model has
+     *                                  no primary columns
+     */
+    private String getReturningClause(Map<Returning, String> clauses, Returning returning) {
+        String clause = clauses.get(returning);
+        if (clause == null) {
+            throw new IllegalArgumentException("Table %s has no primary columns to return".formatted(tableName));
+        }
+        return clause;
+    }
+
+    /**
+     * Get templates of a model.
+     *
+     * @param modelReflection a model reflection
+     * @return templates built once per model reflection
+     */
+    @SuppressWarnings("unchecked")
+    public static <K extends Model<K>> SqlTemplates<K> of(ModelReflection<K> modelReflection) {
+        return (SqlTemplates<K>) templates.computeIfAbsent(modelReflection,
+                reflection -> new SqlTemplates<>(modelReflection));
+    }
+
+    /**
+     * Build select statement for a where clause.
+     *
+     * @param whereClause a where clause
+     * @return a sql
+     */
+    public String getSelectSql(String whereClause) {
+        return selectPrefix + whereClause;
+    }
+
+    /**
+     * Build select statement of some columns for a where clause.
+     *
+     * @param columns     selected columns
+     * @param whereClause a where clause
+     * @return a sql
+     */
+    public String getProjectionSql(Column<?, ?>[] columns, String whereClause) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int index = 0; index < columns.length; index++) {
+            if (index > 0) {
+                sql.append(", ");
+            }
+            sql.append(columns[index].getName());
+        }
+        return sql.append(" FROM ").append(tableName).append(" WHERE ").append(whereClause).toString();
+    }
+
+    /**
+     * Build aggregate statement for a where clause.
+     *
+     * @param groupColumns columns to group by, may be empty
+     * @param aggregates   aggregates to compute
+     * @param whereClause  a where clause
+     * @return a sql
+     */
+    public String getAggregateSql(Column<?, ?>[] groupColumns, Aggregate[] aggregates, String whereClause) {
+        List<String> selected = new ArrayList<>();
+        List<String> grouped = new ArrayList<>();
+        for (Column<?, ?> column : groupColumns) {
+            selected.add(column.getName());
+            grouped.add(column.getName());
+        }
+        for (Aggregate aggregate : aggregates) {
+            selected.add(aggregate.getSql());
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(String.join(", ", selected))
+                .append(" FROM ").append(tableName).append(" WHERE ").append(whereClause);
+        if (!grouped.isEmpty()) {
+            sql.append(" GROUP BY ").append(String.join(", ", grouped));
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Build delete statement for a where clause.
+     *
+     * @param whereClause a where clause
+     * @return a sql
+     */
+    public String getDeleteSql(String whereClause) {
+        return getDeleteSql(whereClause, Returning.ALL);
+    }
+
+    /**
+     * Build delete statement for a where clause.
+     *
+     * @param whereClause a where clause
+     * @param returning   returned rows
+     * @return a sql
+     */
+    public String getDeleteSql(String whereClause, Returning returning) {
+        return deletePrefix + whereClause + getReturningClause(returningClauses, returning);
+    }
+
+    /**
+     * Build set-based update statement for a where clause.
+     *
+     * @param assignments assignments of columns
+     * @param whereClause a where clause
+     * @param returning   returned rows
+     * @return a sql
+     */
+    public String getUpdateWhereSql(Assignment[] assignments, String whereClause, Returning returning) {
+        List<String> updates = new ArrayList<>();
+        for (Assignment assignment : assignments) {
+            updates.add(assignment.getSql());
+        }
+        return "UPDATE %s SET %s WHERE %s%s".formatted(tableName, String.join(", ", updates), whereClause,
+                getReturningClause(returningClauses, returning));
+    }
+
+    /**
+     * Compute null pattern of model values.
+     *
+     * @param fieldsValues fields values of a model in order of columns
+     * @return a bit mask of primary columns with null value
+     * @throws IllegalArgumentException if not nullable column has null value
+     */
+    public int getNullPattern(Object[] fieldsValues) {
+        int pattern = 0;
+        int primaryIndex = 0;
+        for (int index = 0; index < columns.length; index++) {
+            Column<?, ?> column = columns[index];
+            Object fieldValue = fieldsValues[index];
+            if (column.isPrimary()) {
+                if (fieldValue == null) {
+                    pattern |= 1 << primaryIndex;
+                }
+                primaryIndex++;
+            } else if (fieldValue == null && !column.isNullable()) {
+                throw new IllegalArgumentException("Column " + column.getName() + " is not nullable");
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Get indexes of columns set by put statement of a null pattern.
+     *
+     * @param nullPattern a null pattern
+     * @return indexes of settable columns in {@link #getColumns()}
+     */
+    public int[] getSettableColumns(int nullPattern) {
+        return settableColumns.computeIfAbsent(nullPattern, pattern -> {
+            int[] settable = new int[columns.length - Integer.bitCount(pattern)];
+            int primaryIndex = 0;
+            int settableIndex = 0;
+            for (int index = 0; index < columns.length; index++) {
+                if (columns[index].isPrimary() && (pattern & (1 << primaryIndex++)) != 0) {
+                    continue;
+                }
+                settable[settableIndex++] = index;
+            }
+            return settable;
+        });
+    }
+
+    /**
+     * Get put statement of a null pattern for any number of rows.
+     *
+     * @param nullPattern a null pattern
+     * @return a sql
+     */
+    public String getPutSql(int nullPattern) {
+        return getPutSql(nullPattern, Returning.ALL);
+    }
+
+    /**
+     * Get put statement of a null pattern for any number of rows.
+     *
+     * Values of every settable column are bound as an array, see
+     * {@link Column#setArrayToStatement}.
+     *
+     * @param nullPattern a null pattern
+     * @param returning   returned rows
+     * @return a sql
+     */
+    public String getPutSql(int nullPattern, Returning returning) {
+        String returningClause = getReturningClause(returningClauses, returning);
+        return putSql.get(returning).computeIfAbsent(nullPattern, pattern -> buildPutSql(pattern) + returningClause);
+    }
+
+    /**
+     * Compare fields values of a model with values it was loaded with.
+     *
+     * A model can be updated by changed columns only if it was loaded, its
+     * primary key is set and not changed, and the model has less than
+     * {@link Long#SIZE} columns.
+     *
+     * @param loadedValues values the model was loaded with or null
+     * @param fieldsValues current fields values of the model
+     * @return a bit mask of changed columns, 0 if nothing changed, or
+     *         {@link #UNTRACKED} if the model must be put with all columns
+     */
+    public long getChangedColumns(Object[] loadedValues, Object[] fieldsValues) {
+        if (loadedValues == null || loadedValues.length != columns.length || columns.length >= Long.SIZE
+                || primaryColumns.length == 0) {
+            return UNTRACKED;
+        }
+        long changed = 0;
+        for (int index = 0; index < columns.length; index++) {
+            boolean equal = Objects.equals(loadedValues[index], fieldsValues[index]);
+            if (columns[index].isPrimary()) {
+                if (fieldsValues[index] == null || !equal) {
+                    return UNTRACKED;
+                }
+            } else if (!equal) {
+                changed |= 1L << index;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Get columns bound by update statement of changed columns.
+     *
+     * @param changedColumns a bit mask of changed columns
+     * @return indexes of primary and changed columns in order of columns
+     */
+    public int[] getBoundColumns(long changedColumns) {
+        return boundColumns.computeIfAbsent(changedColumns, changed -> {
+            int[] bound = new int[primaryColumns.length + Long.bitCount(changed)];
+            int boundIndex = 0;
+            for (int index = 0; index < columns.length; index++) {
+                if (columns[index].isPrimary() || (changed & (1L << index)) != 0) {
+                    bound[boundIndex++] = index;
+                }
+            }
+            return bound;
+        });
+    }
+
+    /**
+     * Get update statement setting changed columns of any number of rows.
+     *
+     * Rows are sent as typed arrays of bound columns joined by primary
+     * columns,
+     * {@code UPDATE t SET a = v.a FROM unnest(?::INTEGER[], ?::TEXT[]) AS v (id, a) WHERE t.id = v.id}.
+     *
+     * @param changedColumns a bit mask of changed columns
+     * @param returning      returned rows
+     * @return a sql
+     */
+    public String getUpdateSql(long changedColumns, Returning returning) {
+        Map<Long, String> cached = updateSql.get(returning);
+        String sql = cached.get(changedColumns);
+        if (sql == null) {
+            sql = buildUpdateSql(changedColumns) + getReturningClause(updateReturningClauses, returning);
+            cached.put(changedColumns, sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Get statement reserving values of null primary columns of a null
+     * pattern for a number of rows, bound as the only parameter.
+     *
+     * Keys are taken from sequences of the columns before the put, so they
+     * are assigned to rows by position instead of by order of a RETURNING
+     * clause, which the database does not guarantee.
+     *
+     * @param nullPattern a null pattern
+     * @return a sql
+     * @throws IllegalArgumentException if a null primary column is not serial
+     */
+    public String getNextKeysSql(int nullPattern) {
+        return nextKeysSql.computeIfAbsent(nullPattern, this::buildNextKeysSql);
+    }
+
+    /**
+     * Build COPY statement loading settable columns of a null pattern.
+     *
+     * @param nullPattern a null pattern
+     * @return a sql
+     */
+    public String getCopyInSql(int nullPattern) {
+        List<String> settableNames = new ArrayList<>();
+        for (int index : getSettableColumns(nullPattern)) {
+            settableNames.add(columns[index].getName());
+        }
+        return "COPY %s (%s) FROM STDIN".formatted(tableName, String.join(", ", settableNames));
+    }
+
+    /**
+     * Build COPY statement exporting models matching a where clause.
+     *
+     * @param whereClause a where clause without placeholders
+     * @param format      a data format
+     * @return a sql
+     */
+    public String getCopyOutSql(String whereClause, CopyFormat format) {
+        return "COPY (%s) TO STDOUT %s".formatted(getSelectSql(whereClause), format.getOptions());
+    }
+
+    /**
+     * Build statements creating indexes of indexed columns and
+     * {@link Index} annotations of the model.
+     *
+     * @param modelReflection a model reflection
+     * @return statements
+     * @throws IllegalArgumentException if an index has no columns or an
+     *                                  unknown column
+     */
+    private List<String> buildCreateIndexesSql(ModelReflection<T> modelReflection) {
+        List<String> statements = new ArrayList<>();
+        for (Column<?, ?> column : columns) {
+            if (column.isIndexed() && !column.isUnique()) {
+                statements.add("CREATE INDEX IF NOT EXISTS %s_%s_idx ON %s (%s)"
+                        .formatted(tableName, column.getName(), tableName, column.getName()));
+            }
+        }
+
+        for (Index index : modelReflection.getModelClass().getAnnotationsByType(Index.class)) {
+            if (index.columns().length == 0) {
+                throw new IllegalArgumentException("Index of %s must have columns".formatted(tableName));
+            }
+            List<String> indexed = new ArrayList<>();
+            for (String columnName : index.columns()) {
+                if (!modelReflection.getColumns().containsKey(columnName)) {
+                    throw new IllegalArgumentException("Index of %s has unknown column %s"
+                            .formatted(tableName, columnName));
+                }
+                indexed.add(index.operatorClass().isEmpty() ? columnName : columnName + " " + index.operatorClass());
+            }
+            String name = index.name();
+            if (name.isEmpty()) {
+                List<String> parts = new ArrayList<>(List.of(index.columns()));
+                if (index.method() != Index.Method.BTREE) {
+                    parts.add(index.method().name().toLowerCase());
+                }
+                if (!index.operatorClass().isEmpty()) {
+                    parts.add(index.operatorClass());
+                }
+                name = "%s_%s_idx".formatted(tableName, String.join("_", parts));
+            }
+
+            StringBuilder sql = new StringBuilder("CREATE ");
+            if (index.unique()) {
+                sql.append("UNIQUE ");
+            }
+            sql.append("INDEX IF NOT EXISTS ").append(name).append(" ON ").append(tableName)
+                    .append(" USING ").append(index.method().name()).append(" (")
+                    .append(String.join(", ", indexed)).append(")");
+            if (!index.where().isEmpty()) {
+                sql.append(" WHERE ").append(index.where());
+            }
+            statements.add(sql.toString());
+        }
+        return Collections.unmodifiableList(statements);
+    }
+
+    /**
+     * Build update statement of changed columns without RETURNING clause.
+     *
+     * @param changedColumns a bit mask of changed columns
+     * @return a sql
+     */
+    private String buildUpdateSql(long changedColumns) {
+        List<String> boundNames = new ArrayList<>();
+        List<String> arrays = new ArrayList<>();
+        List<String> updates = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+        for (int index : getBoundColumns(changedColumns)) {
+            Column<?, ?> column = columns[index];
+            boundNames.add(column.getName());
+            arrays.add("?::%s[]".formatted(column.getSqlType()));
+            if (column.isPrimary()) {
+                conditions.add("%s.%s = %s.%s".formatted(tableName, column.getName(), VALUES_ALIAS, column.getName()));
+            } else {
+                updates.add("%s = %s.%s".formatted(column.getName(), VALUES_ALIAS, column.getName()));
+            }
+        }
+        return new StringBuilder()
+                .append("UPDATE ").append(tableName)
+                .append(" SET ").append(String.join(", ", updates))
+                .append(" FROM unnest(").append(String.join(", ", arrays))
+                .append(") AS ").append(VALUES_ALIAS).append(" (").append(String.join(", ", boundNames))
+                .append(") WHERE ").append(String.join(" AND ", conditions))
+                .toString();
+    }
+
+    /**
+     * Build statement reserving generated keys of a null pattern.
+     *
+     * Sequence names are looked up by lower case column names, as columns
+     * are created unquoted.
+     *
+     * @param nullPattern a null pattern
+     * @return a sql
+     */
+    private String buildNextKeysSql(int nullPattern) {
+        List<String> keys = new ArrayList<>();
+        for (int index = 0; index < primaryColumns.length; index++) {
+            if ((nullPattern & (1 << index)) == 0) {
+                continue;
+            }
+            Column<?, ?> column = primaryColumns[index];
+            if (!(column instanceof SerialColumn)) {
+                throw new IllegalArgumentException("Primary column %s of %s is null but not serial"
+                        .formatted(column.getName(), tableName));
+            }
+            keys.add("nextval(pg_get_serial_sequence('%s', '%s')) AS %s"
+                    .formatted(tableName, column.getName().toLowerCase(), column.getName()));
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("Null pattern has no null primary columns");
+        }
+        return "SELECT %s FROM generate_series(1, ?)".formatted(String.join(", ", keys));
+    }
+
+    /**
+     * Build put statement of a null pattern without RETURNING clause.
+     *
+     * @param nullPattern a null pattern
+     * @return a sql
+     */
+    private String buildPutSql(int nullPattern) {
+        List<String> settableNames = new ArrayList<>();
+        List<String> arrays = new ArrayList<>();
+        for (int index : getSettableColumns(nullPattern)) {
+            settableNames.add(columns[index].getName());
+            arrays.add("?::%s[]".formatted(columns[index].getSqlType()));
+        }
+
+        StringBuilder sql = new StringBuilder()
+                .append("INSERT INTO ").append(tableName)
+                .append(" (").append(String.join(", ", settableNames)).append(") SELECT * FROM unnest(")
+                .append(String.join(", ", arrays)).append(")");
+
+        if (primaryColumns.length > 0) {
+            List<String> primaryNames = new ArrayList<>();
+            for (Column<?, ?> column : primaryColumns) {
+                primaryNames.add(column.getName());
+            }
+            List<String> updates = new ArrayList<>();
+            for (String columnName : settableNames) {
+                updates.add(columnName + " = EXCLUDED." + columnName);
+            }
+            sql.append(" ON CONFLICT (").append(String.join(", ", primaryNames))
+                    .append(") DO UPDATE SET ").append(String.join(", ", updates));
+        }
+        return sql.toString();
+    }
+}
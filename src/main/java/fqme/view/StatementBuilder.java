@@ -2,22 +2,29 @@ package fqme.view;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map.Entry;
 
 import fqme.column.Column;
+import fqme.connection.StatementCache;
 import fqme.column.exceptions.UnsupportedValueType;
 import fqme.model.Model;
 import fqme.model.reflection.ModelReflection;
+import fqme.query.Aggregate;
+import fqme.query.Assignment;
 import fqme.query.Query;
 import fqme.query.QueryArgument;
-import lombok.RequiredArgsConstructor;
+import fqme.query.Slice;
 
-@RequiredArgsConstructor
+/**
+ * Builds statements of a model.
+ *
+ * Statements for queries and puts are taken from a per-connection
+ * {@link StatementCache}, so they are owned by the cache and must not be
+ * closed by the caller.
+ */
 public class StatementBuilder<T extends Model<T>> {
     /**
      * A model class that is associated with this view.
@@ -29,52 +36,146 @@ public class StatementBuilder<T extends Model<T>> {
      */
     private final Connection connection;
 
+    /**
+     * Precomputed SQL of the model.
+     */
+    private final SqlTemplates<T> templates;
+
+    /**
+     * Cache of prepared statements of the connection.
+     */
+    private final StatementCache statementCache;
+
+    /**
+     * Create a statement builder of a model for a connection.
+     *
+     * @param modelReflection a model reflection
+     * @param connection      a connection to the database
+     */
+    public StatementBuilder(ModelReflection<T> modelReflection, Connection connection) {
+        this.modelReflection = modelReflection;
+        this.connection = connection;
+        this.templates = SqlTemplates.of(modelReflection);
+        this.statementCache = StatementCache.of(connection);
+    }
+
     /**
      * Build a statement for creating a table.
      *
-     * @return
-     * @throws Exception
+     * Statement is not cached, so it must be closed by the caller.
+     *
+     * @return a statement
+     * @throws SQLException if a database access error occurs
      */
     public PreparedStatement buildCreateTableStatement() throws SQLException {
-        String tableName = modelReflection.getTableName();
-        List<String> columnsDefinitions = new ArrayList<>();
-        for (Entry<String, Column<?, ?>> entry : modelReflection.getColumns().entrySet()) {
-            String columnName = entry.getKey();
-            Column<?, ?> column = entry.getValue();
-
-            String columnDefinition = "%s %s".formatted(columnName, column.getSqlDefinition());
-            columnsDefinitions.add(columnDefinition);
+        return connection.prepareStatement(templates.getCreateTableSql());
+    }
 
-            if (entry.getValue().isPrimary()) {
-                String primaryColumnIndex = "CONSTRAINT %s_%s_unique UNIQUE (%s)"
-                        .formatted(tableName, columnName, columnName);
+    /**
+     * Build a statement for getting many models by a query.
+     *
+     * @param query a query
+     * @return a statement
+     * @throws Exception
+     */
+    public PreparedStatement buildGetStatement(Query query) throws SQLException, UnsupportedValueType {
+        PreparedStatement statement = statementCache.prepare(templates.getSelectSql(query.getWhereClause()));
+        setQueryArguments(statement, query);
+        return statement;
+    }
 
-                columnsDefinitions.add(primaryColumnIndex);
-            }
+    /**
+     * Build a statement for getting some columns of models by a query.
+     *
+     * @param query   a query
+     * @param columns selected columns
+     * @return a statement
+     */
+    public PreparedStatement buildSelectStatement(Query query, Column<?, ?>[] columns)
+            throws SQLException, UnsupportedValueType {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("At least one column must be selected");
         }
-        String sql = "CREATE TABLE IF NOT EXISTS %s (%s)"
-                .formatted(tableName, String.join(", ", columnsDefinitions));
+        PreparedStatement statement = statementCache.prepare(
+                templates.getProjectionSql(columns, query.getWhereClause()));
+        setQueryArguments(statement, query);
+        return statement;
+    }
 
-        PreparedStatement statement = connection.prepareStatement(sql);
+    /**
+     * Build a statement for computing aggregates of models by a query.
+     *
+     * @param query        a query
+     * @param groupColumns columns to group by, may be empty
+     * @param aggregates   aggregates to compute
+     * @return a statement
+     */
+    public PreparedStatement buildAggregateStatement(Query query, Column<?, ?>[] groupColumns,
+            Aggregate[] aggregates) throws SQLException, UnsupportedValueType {
+        if (aggregates.length == 0) {
+            throw new IllegalArgumentException("At least one aggregate must be computed");
+        }
+        PreparedStatement statement = statementCache.prepare(
+                templates.getAggregateSql(groupColumns, aggregates, query.getWhereClause()));
+        setQueryArguments(statement, query);
         return statement;
     }
 
     /**
-     * Build a statement for getting many models by a query.
+     * Build a statement for getting an ordered slice of models by a query.
      *
-     * @param query a query
+     * Limit and offset are bound as arguments, so pages of any size share
+     * the statement.
+     *
+     * @param query a query, including keyset condition of the slice
+     * @param slice a slice
      * @return a statement
-     * @throws Exception
      */
-    public PreparedStatement buildGetStatement(Query query) throws SQLException, UnsupportedValueType {
-        String sql = "SELECT * FROM %s WHERE %s"
-                .formatted(modelReflection.getTableName(), query.getWhereClause());
+    public PreparedStatement buildSliceStatement(Query query, Slice slice) throws SQLException, UnsupportedValueType {
+        StringBuilder sql = new StringBuilder(templates.getSelectSql(query.getWhereClause()))
+                .append(slice.getOrderByClause());
+        if (slice.getLimit() != null) {
+            sql.append(" LIMIT ?");
+        }
+        if (slice.getOffset() > 0) {
+            sql.append(" OFFSET ?");
+        }
 
-        PreparedStatement statement = connection.prepareStatement(sql);
-        List<QueryArgument<?, ?>> whereArgs = query.getWhereArgs();
-        for (Integer index = 0; index < whereArgs.size(); index++) {
-            QueryArgument<?, ?> argument = whereArgs.get(index);
-            argument.getColumn().setToStatement(statement, index + 1, argument.getValue());
+        PreparedStatement statement = statementCache.prepare(sql.toString());
+        setQueryArguments(statement, query);
+        int index = query.getWhereArgs().size() + 1;
+        if (slice.getLimit() != null) {
+            statement.setInt(index++, slice.getLimit());
+        }
+        if (slice.getOffset() > 0) {
+            statement.setLong(index, slice.getOffset());
+        }
+        return statement;
+    }
+
+    /**
+     * Build a statement for lazily reading models by a query with a cursor.
+     *
+     * Statement is not cached, as it lives as long as its result set is read,
+     * so it must be closed by the caller.
+     *
+     * @param query     a query
+     * @param fetchSize number of rows fetched per round trip
+     * @return a statement
+     */
+    public PreparedStatement buildStreamStatement(Query query, int fetchSize)
+            throws SQLException, UnsupportedValueType {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Fetch size must be positive");
+        }
+        PreparedStatement statement = connection.prepareStatement(templates.getSelectSql(query.getWhereClause()),
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            statement.setFetchSize(fetchSize);
+            setQueryArguments(statement, query);
+        } catch (SQLException | UnsupportedValueType e) {
+            statement.close();
+            throw e;
         }
         return statement;
     }
@@ -87,15 +188,43 @@ public class StatementBuilder<T extends Model<T>> {
      * @throws Exception
      */
     public PreparedStatement buildDeleteStatement(Query query) throws SQLException, UnsupportedValueType {
-        String sql = "DELETE FROM %s WHERE %s RETURNING *"
-                .formatted(modelReflection.getTableName(), query.getWhereClause());
+        return buildDeleteStatement(query, Returning.ALL);
+    }
 
-        PreparedStatement statement = connection.prepareStatement(sql);
-        List<QueryArgument<?, ?>> whereArgs = query.getWhereArgs();
-        for (Integer index = 0; index < whereArgs.size(); index++) {
-            QueryArgument<?, ?> argument = whereArgs.get(index);
-            argument.getColumn().setToStatement(statement, index + 1, argument.getValue());
+    /**
+     * Build a statement for deleting models.
+     *
+     * @param query     a query
+     * @param returning returned rows
+     * @return a statement
+     */
+    public PreparedStatement buildDeleteStatement(Query query, Returning returning)
+            throws SQLException, UnsupportedValueType {
+        PreparedStatement statement = statementCache.prepare(
+                templates.getDeleteSql(query.getWhereClause(), returning));
+        setQueryArguments(statement, query);
+        return statement;
+    }
+
+    /**
+     * Build a statement for updating columns of models matching a query.
+     *
+     * @param query       a query
+     * @param assignments assignments of columns
+     * @param returning   returned rows
+     * @return a statement
+     */
+    public PreparedStatement buildUpdateWhereStatement(Query query, Assignment[] assignments, Returning returning)
+            throws SQLException, UnsupportedValueType {
+        if (assignments.length == 0) {
+            throw new IllegalArgumentException("At least one column must be assigned");
+        }
+        PreparedStatement statement = statementCache.prepare(
+                templates.getUpdateWhereSql(assignments, query.getWhereClause(), returning));
+        for (int index = 0; index < assignments.length; index++) {
+            assignments[index].getArgument().setToStatement(statement, index + 1);
         }
+        setQueryArguments(statement, query, assignments.length);
         return statement;
     }
 
@@ -107,48 +236,161 @@ public class StatementBuilder<T extends Model<T>> {
      * @return a prepared statement
      */
     public PreparedStatement buildPutStatement(T model) throws SQLException, UnsupportedValueType {
-        LinkedHashMap<String, Object> fieldsValues = modelReflection.getFieldsSupplier().getFieldsValues(model);
+        Object[] fieldsValues = modelReflection.getFieldsSupplier().getFieldsValues(model);
+        return buildPutStatement(List.<Object[]>of(fieldsValues));
+    }
 
-        LinkedHashMap<String, Column<?, ?>> settableColumns = new LinkedHashMap<>();
-        LinkedHashMap<String, Column<?, ?>> primaryColumns = new LinkedHashMap<>();
-        for (Entry<String, Column<?, ?>> entry : modelReflection.getColumns().entrySet()) {
-            String columnName = entry.getKey();
-            Column<?, ?> column = entry.getValue();
-            Object fieldValue = fieldsValues.get(columnName);
+    /**
+     * Build statement for inserting many models with a single
+     * {@code INSERT ... SELECT * FROM unnest(...)}, binding an array per
+     * column. If a model already exists, it will be updated.
+     *
+     * All rows must have the same null pattern
+     * (see {@link SqlTemplates#getNullPattern(Object[])}) and must not
+     * repeat primary keys, otherwise database rejects the upsert.
+     *
+     * @param rowsValues fields values of the models
+     * @return a prepared statement
+     * @throws IllegalArgumentException if rows have different null patterns
+     */
+    public PreparedStatement buildPutStatement(List<Object[]> rowsValues)
+            throws SQLException, UnsupportedValueType {
+        return buildPutStatement(rowsValues, Returning.ALL);
+    }
 
-            if (column.isPrimary()) {
-                primaryColumns.put(columnName, column);
-            }
+    /**
+     * Build statement for inserting many models.
+     *
+     * @see #buildPutStatement(List)
+     *
+     * @param rowsValues fields values of the models
+     * @param returning  returned rows
+     * @return a prepared statement
+     * @throws IllegalArgumentException if rows have different null patterns
+     */
+    public PreparedStatement buildPutStatement(List<Object[]> rowsValues, Returning returning)
+            throws SQLException, UnsupportedValueType {
+        int nullPattern = templates.getNullPattern(rowsValues.get(0));
+        Column<?, ?>[] columns = templates.getColumns();
+        int[] settableColumns = templates.getSettableColumns(nullPattern);
 
-            if (fieldValue == null && column.isPrimary()) {
-                continue;
-            } else if (fieldValue == null && !column.isNullable()) {
-                throw new IllegalArgumentException("Column " + columnName + " is not nullable");
-            } else {
-                settableColumns.put(columnName, column);
+        for (Object[] fieldsValues : rowsValues) {
+            if (templates.getNullPattern(fieldsValues) != nullPattern) {
+                throw new IllegalArgumentException("All rows of a multi-row put must have the same columns");
             }
         }
-        String fieldsNames = String.join(", ", settableColumns.keySet());
-        String placeholders = String.join(", ", Collections.nCopies(settableColumns.size(), "?"));
-        String sql = "INSERT INTO %s (%s) VALUES (%s)"
-                .formatted(modelReflection.getTableName(), fieldsNames, placeholders);
-
-        if (!primaryColumns.isEmpty()) {
-            String conflictClause = String.join(", ", primaryColumns.keySet());
-            String updateClause = String.join(", ", settableColumns.keySet().stream()
-                    .map(columnName -> columnName + " = EXCLUDED." + columnName).toList());
-
-            sql += " ON CONFLICT (%s) DO UPDATE SET %s"
-                    .formatted(conflictClause, updateClause);
-        }
-        sql += " RETURNING *";
 
-        PreparedStatement statement = connection.prepareStatement(sql);
-        Integer index = 1;
-        for (Column<?, ?> column : settableColumns.values()) {
-            Object fieldValue = fieldsValues.get(column.getName());
-            column.setToStatement(statement, index++, fieldValue);
+        PreparedStatement statement = statementCache.prepare(templates.getPutSql(nullPattern, returning));
+        setArrays(statement, columns, settableColumns, rowsValues);
+        return statement;
+    }
+
+    /**
+     * Build statement for updating changed columns of many loaded models with
+     * a single {@code UPDATE ... FROM unnest(...)}.
+     *
+     * All rows must have the same changed columns
+     * (see {@link SqlTemplates#getChangedColumns(Object[], Object[])}) and
+     * must not repeat primary keys.
+     *
+     * @param rowsValues     fields values of the models
+     * @param changedColumns a bit mask of changed columns
+     * @param returning      returned rows
+     * @return a prepared statement
+     */
+    public PreparedStatement buildUpdateStatement(List<Object[]> rowsValues, long changedColumns,
+            Returning returning) throws SQLException, UnsupportedValueType {
+        Column<?, ?>[] columns = templates.getColumns();
+        int[] boundColumns = templates.getBoundColumns(changedColumns);
+
+        PreparedStatement statement = statementCache.prepare(templates.getUpdateSql(changedColumns, returning));
+        setArrays(statement, columns, boundColumns, rowsValues);
+        return statement;
+    }
+
+    /**
+     * Set values of columns of many rows to a statement, an array per column.
+     *
+     * @param statement     a statement
+     * @param columns       all columns of the model
+     * @param columnIndexes indexes of bound columns in order of parameters
+     * @param rowsValues    fields values of the models
+     */
+    private static void setArrays(PreparedStatement statement, Column<?, ?>[] columns, int[] columnIndexes,
+            List<Object[]> rowsValues) throws SQLException {
+        for (int index = 0; index < columnIndexes.length; index++) {
+            int columnIndex = columnIndexes[index];
+            List<Object> values = new ArrayList<>(rowsValues.size());
+            for (Object[] fieldsValues : rowsValues) {
+                values.add(fieldsValues[columnIndex]);
+            }
+            columns[columnIndex].setArrayToStatement(statement, index + 1, values);
         }
+    }
+
+    /**
+     * Get changed columns of a model.
+     *
+     * @see SqlTemplates#getChangedColumns(Object[], Object[])
+     *
+     * @param loadedValues values the model was loaded with or null
+     * @param fieldsValues current fields values of the model
+     * @return a bit mask of changed columns or {@link SqlTemplates#UNTRACKED}
+     */
+    public long getChangedColumns(Object[] loadedValues, Object[] fieldsValues) {
+        return templates.getChangedColumns(loadedValues, fieldsValues);
+    }
+
+    /**
+     * Get null pattern of model values that defines columns of put statement.
+     *
+     * @see SqlTemplates#getNullPattern(Object[])
+     *
+     * @param fieldsValues fields values of a model
+     * @return a null pattern
+     */
+    public int getNullPattern(Object[] fieldsValues) {
+        return templates.getNullPattern(fieldsValues);
+    }
+
+    /**
+     * Build a statement reserving keys of null primary columns.
+     *
+     * @see SqlTemplates#getNextKeysSql(int)
+     *
+     * @param nullPattern a null pattern
+     * @param count       number of rows
+     * @return a statement
+     */
+    public PreparedStatement buildNextKeysStatement(int nullPattern, int count) throws SQLException {
+        PreparedStatement statement = statementCache.prepare(templates.getNextKeysSql(nullPattern));
+        statement.setInt(1, count);
         return statement;
     }
+
+    /**
+     * Set query arguments to a statement.
+     *
+     * @param statement a statement
+     * @param query     a query
+     */
+    private void setQueryArguments(PreparedStatement statement, Query query)
+            throws SQLException, UnsupportedValueType {
+        setQueryArguments(statement, query, 0);
+    }
+
+    /**
+     * Set query arguments to a statement after other parameters.
+     *
+     * @param statement a statement
+     * @param query     a query
+     * @param offset    number of parameters before the where clause
+     */
+    private void setQueryArguments(PreparedStatement statement, Query query, int offset)
+            throws SQLException, UnsupportedValueType {
+        List<QueryArgument<?, ?>> whereArgs = query.getWhereArgs();
+        for (int index = 0; index < whereArgs.size(); index++) {
+            whereArgs.get(index).setToStatement(statement, offset + index + 1);
+        }
+    }
 }
@@ -0,0 +1,538 @@
+package fqme.view;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import fqme.cache.EntityCache;
+import fqme.column.Column;
+import fqme.column.exceptions.UnsupportedSqlType;
+import fqme.column.exceptions.UnsupportedValueType;
+import fqme.model.Model;
+import fqme.model.reflection.ModelReflection;
+
+/**
+ * Pending writes of models of many tables committed in one transaction.
+ *
+ * Example:
+ *
+ * <pre>
+ * {@code
+ * UnitOfWork unit = new UnitOfWork(connection);
+ * unit.put(user);
+ * unit.putAll(orders);
+ * unit.delete(oldOrder);
+ * unit.commit();
+ * }
+ * </pre>
+ *
+ * Nothing is sent to the database until {@link #flush()} or
+ * {@link #commit()}. Then puts are flushed table by table in order of
+ * {@link fqme.column.common.ForeignColumn} dependencies, so referenced rows
+ * are written first, and deletes are flushed in reverse order, so
+ * referencing rows are deleted first. Models of a table are sent in
+ * multi-row batches (see {@link View#putManyAssignKeys(Iterable)}).
+ *
+ * Keys generated by the database are assigned to put models with null
+ * primary keys when they are flushed. A model referencing a new model gets
+ * its key after a flush:
+ *
+ * <pre>
+ * {@code
+ * unit.put(location);
+ * unit.flush();
+ * unit.put(new TestModel("Alex", LocalDateTime.now(), location.getId()));
+ * unit.commit();
+ * }
+ * </pre>
+ *
+ * As puts of a flush go before its deletes, a model cannot be registered to
+ * both put and delete by the same primary key until the unit is flushed.
+ *
+ * Unit of work is not thread-safe.
+ */
+public class UnitOfWork {
+    /**
+     * A connection to the database.
+     */
+    private final Connection connection;
+
+    /**
+     * Pending puts by model reflections, in order of registration.
+     */
+    private final Map<ModelReflection<?>, List<Model<?>>> puts = new LinkedHashMap<>();
+
+    /**
+     * Pending deletes by model reflections, in order of registration.
+     */
+    private final Map<ModelReflection<?>, List<Model<?>>> deletes = new LinkedHashMap<>();
+
+    /**
+     * Primary keys of pending puts by model reflections.
+     */
+    private final Map<ModelReflection<?>, Set<List<Object>>> putKeys = new HashMap<>();
+
+    /**
+     * Primary keys of pending deletes by model reflections.
+     */
+    private final Map<ModelReflection<?>, Set<List<Object>>> deleteKeys = new HashMap<>();
+
+    /**
+     * Flushed models by model reflections, invalidated in the cache on
+     * commit.
+     */
+    private final Map<ModelReflection<?>, List<Model<?>>> written = new LinkedHashMap<>();
+
+    /**
+     * Flushed put models by model reflections, whose keys were generated by
+     * the database. Keys are cleared on rollback.
+     */
+    private final Map<ModelReflection<?>, List<Model<?>>> generated = new LinkedHashMap<>();
+
+    /**
+     * A cache invalidated by committed writes or null.
+     */
+    private EntityCache cache;
+
+    /**
+     * Define if a transaction of the unit is open.
+     */
+    private boolean active = false;
+
+    /**
+     * Savepoint of the unit in a transaction of the caller, or null if the
+     * unit opened its own transaction.
+     */
+    private Savepoint savepoint;
+
+    /**
+     * Number of rows written since the transaction of the unit is open.
+     */
+    private long count = 0;
+
+    /**
+     * Create an empty unit of work.
+     *
+     * @param connection a connection to the database
+     */
+    public UnitOfWork(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Invalidate models of a cache when their writes are committed.
+     *
+     * @param cache a cache shared with views
+     * @return this
+     */
+    public UnitOfWork withCache(EntityCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * Register a model to insert or update.
+     *
+     * @param model a model
+     * @return this
+     * @throws IllegalArgumentException if a model with the same primary key is
+     *                                  registered to delete
+     */
+    public UnitOfWork put(Model<?> model) {
+        ModelReflection<?> modelReflection = getModelReflection(model);
+        register(modelReflection, model, puts, putKeys, deleteKeys);
+        return this;
+    }
+
+    /**
+     * Register models to insert or update.
+     *
+     * @param models models
+     * @return this
+     * @throws IllegalArgumentException if a model with the same primary key is
+     *                                  registered to delete
+     */
+    public UnitOfWork putAll(Iterable<? extends Model<?>> models) {
+        models.forEach(this::put);
+        return this;
+    }
+
+    /**
+     * Register a model to delete by its primary keys.
+     *
+     * @param model a model
+     * @return this
+     * @throws IllegalArgumentException if a model with the same primary key is
+     *                                  registered to put
+     */
+    public UnitOfWork delete(Model<?> model) {
+        ModelReflection<?> modelReflection = getModelReflection(model);
+        register(modelReflection, model, deletes, deleteKeys, putKeys);
+        return this;
+    }
+
+    /**
+     * Register models to delete by their primary keys.
+     *
+     * @param models models
+     * @return this
+     * @throws IllegalArgumentException if a model with the same primary key is
+     *                                  registered to put
+     */
+    public UnitOfWork deleteAll(Iterable<? extends Model<?>> models) {
+        models.forEach(this::delete);
+        return this;
+    }
+
+    /**
+     * Get number of pending writes.
+     *
+     * @return number of registered puts and deletes
+     */
+    public int size() {
+        int size = 0;
+        for (List<Model<?>> models : puts.values()) {
+            size += models.size();
+        }
+        for (List<Model<?>> models : deletes.values()) {
+            size += models.size();
+        }
+        return size;
+    }
+
+    /**
+     * Send pending writes without committing them.
+     *
+     * If the connection is in autocommit mode, the unit opens its own
+     * transaction, otherwise it sets a savepoint in the transaction of the
+     * caller. Writes stay there until {@link #commit()} or
+     * {@link #rollback()}. On error the writes of the unit are rolled back.
+     *
+     * @return number of written rows
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if a model has a value of unsupported type
+     */
+    public long flush() throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        if (puts.isEmpty() && deletes.isEmpty()) {
+            return 0;
+        }
+        begin();
+        try {
+            long flushed = write();
+            count += flushed;
+            return flushed;
+        } catch (SQLException | UnsupportedValueType | UnsupportedSqlType | RuntimeException e) {
+            rollback(e);
+            throw e;
+        } finally {
+            clear();
+        }
+    }
+
+    /**
+     * Flush pending writes and commit writes of the unit.
+     *
+     * The transaction is committed only if the unit opened it, and the
+     * connection returns to autocommit mode. In a transaction of the caller
+     * the savepoint of the unit is released, and the caller commits.
+     *
+     * Written models are invalidated in the cache after the commit, so
+     * readers do not cache values replaced by the transaction. In a
+     * transaction of the caller they are invalidated on release of the
+     * savepoint, and values read before the caller commits may stay cached
+     * until they expire.
+     *
+     * On error writes of the unit are rolled back, see {@link #rollback()}.
+     * Pending writes are discarded in both cases.
+     *
+     * @return number of rows written since the unit was last committed
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if a model has a value of unsupported type
+     */
+    public long commit() throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        flush();
+        if (!active) {
+            return 0;
+        }
+        try {
+            if (savepoint == null) {
+                connection.commit();
+            } else {
+                connection.releaseSavepoint(savepoint);
+            }
+        } catch (SQLException | RuntimeException e) {
+            rollback(e);
+            throw e;
+        }
+
+        long committed = count;
+        invalidateWritten();
+        end();
+        return committed;
+    }
+
+    /**
+     * Roll back flushed writes of the unit and discard pending ones.
+     *
+     * Written models forget their loaded values, as they may not match the
+     * database anymore, and keys generated by the flushed writes are cleared.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public void rollback() throws SQLException {
+        clear();
+        if (!active) {
+            return;
+        }
+        try {
+            if (savepoint == null) {
+                connection.rollback();
+            } else {
+                connection.rollback(savepoint);
+            }
+        } finally {
+            forgetWritten();
+            end();
+        }
+    }
+
+    /**
+     * Discard pending writes.
+     */
+    public void clear() {
+        puts.clear();
+        deletes.clear();
+        putKeys.clear();
+        deleteKeys.clear();
+    }
+
+    /**
+     * Register a model, rejecting the opposite write of the same primary key.
+     *
+     * @param modelReflection a model reflection
+     * @param model           a model
+     * @param writes          pending writes to add the model to
+     * @param keys            primary keys of the writes
+     * @param oppositeKeys    primary keys of opposite writes
+     */
+    private static void register(ModelReflection<?> modelReflection, Model<?> model,
+            Map<ModelReflection<?>, List<Model<?>>> writes, Map<ModelReflection<?>, Set<List<Object>>> keys,
+            Map<ModelReflection<?>, Set<List<Object>>> oppositeKeys) {
+        List<Object> primaryKey = getPrimaryKey(modelReflection, model);
+        if (primaryKey != null) {
+            if (oppositeKeys.getOrDefault(modelReflection, Collections.emptySet()).contains(primaryKey)) {
+                throw new IllegalArgumentException("Model %s of %s is registered to both put and delete"
+                        .formatted(primaryKey, modelReflection.getTableName()));
+            }
+            keys.computeIfAbsent(modelReflection, reflection -> new HashSet<>()).add(primaryKey);
+        }
+        writes.computeIfAbsent(modelReflection, reflection -> new ArrayList<>()).add(model);
+    }
+
+    /**
+     * Open a transaction or a savepoint of the unit.
+     */
+    private void begin() throws SQLException {
+        if (active) {
+            return;
+        }
+        if (connection.getAutoCommit()) {
+            connection.setAutoCommit(false);
+            savepoint = null;
+        } else {
+            savepoint = connection.setSavepoint();
+        }
+        active = true;
+    }
+
+    /**
+     * Close the transaction of the unit and forget its writes.
+     */
+    private void end() throws SQLException {
+        boolean ownTransaction = savepoint == null;
+        active = false;
+        savepoint = null;
+        count = 0;
+        written.clear();
+        generated.clear();
+        if (ownTransaction) {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Roll back writes of the unit after an error.
+     *
+     * @param error an error to add failures of the rollback to
+     */
+    private void rollback(Exception error) {
+        try {
+            rollback();
+        } catch (SQLException | RuntimeException e) {
+            error.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Send pending writes in dependency order.
+     *
+     * @return number of written rows
+     */
+    private long write() throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        List<ModelReflection<?>> order = SchemaRegistry.sortByDependencies(puts.keySet());
+        long flushed = 0;
+        for (ModelReflection<?> modelReflection : order) {
+            List<Model<?>> models = puts.get(modelReflection);
+            for (Model<?> model : models) {
+                if (getPrimaryKey(modelReflection, model) == null) {
+                    generated.computeIfAbsent(modelReflection, reflection -> new ArrayList<>()).add(model);
+                }
+            }
+            written.computeIfAbsent(modelReflection, reflection -> new ArrayList<>()).addAll(models);
+            flushed += putAll(modelReflection, models);
+        }
+
+        order = SchemaRegistry.sortByDependencies(deletes.keySet());
+        Collections.reverse(order);
+        for (ModelReflection<?> modelReflection : order) {
+            List<Model<?>> models = deletes.get(modelReflection);
+            written.computeIfAbsent(modelReflection, reflection -> new ArrayList<>()).addAll(models);
+            flushed += deleteAll(modelReflection, models);
+        }
+        return flushed;
+    }
+
+    /**
+     * Invalidate written models in the cache.
+     */
+    private void invalidateWritten() {
+        if (cache == null) {
+            return;
+        }
+        for (Map.Entry<ModelReflection<?>, List<Model<?>>> entry : written.entrySet()) {
+            ModelReflection<?> modelReflection = entry.getKey();
+            for (Model<?> model : entry.getValue()) {
+                List<Object> primaryKey = getPrimaryKey(modelReflection, model);
+                if (primaryKey != null) {
+                    cache.invalidate(modelReflection.getModelClass(), primaryKey);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forget loaded values and generated keys of written models after a
+     * rollback.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void forgetWritten() {
+        for (List<Model<?>> models : written.values()) {
+            models.forEach(model -> model.markLoaded(null));
+        }
+        for (Map.Entry<ModelReflection<?>, List<Model<?>>> entry : generated.entrySet()) {
+            ModelReflection modelReflection = entry.getKey();
+            List<Integer> primaryIndexes = getPrimaryIndexes(modelReflection);
+            for (Model<?> model : entry.getValue()) {
+                for (int index : primaryIndexes) {
+                    modelReflection.getFieldSetter().setFieldValue(model, index, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Put models of a table, assigning generated keys.
+     *
+     * @param modelReflection a model reflection
+     * @param models          models of the reflection
+     * @return number of written rows
+     */
+    @SuppressWarnings("unchecked")
+    private <K extends Model<K>> long putAll(ModelReflection<K> modelReflection, List<Model<?>> models)
+            throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        return createView(modelReflection).putManyAssignKeys((List<K>) (List<?>) models);
+    }
+
+    /**
+     * Delete models of a table.
+     *
+     * @param modelReflection a model reflection
+     * @param models          models of the reflection
+     * @return number of deleted rows
+     */
+    @SuppressWarnings("unchecked")
+    private <K extends Model<K>> long deleteAll(ModelReflection<K> modelReflection, List<Model<?>> models)
+            throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        return createView(modelReflection).deleteManyCount((List<K>) (List<?>) models);
+    }
+
+    /**
+     * Create a view of a model on the connection of this unit.
+     *
+     * Views do not use the cache, as written models are invalidated on
+     * commit.
+     *
+     * @param modelReflection a model reflection
+     * @return a view
+     */
+    private <K extends Model<K>> View<K> createView(ModelReflection<K> modelReflection) throws SQLException {
+        return View.of(modelReflection.getModelClass(), connection);
+    }
+
+    /**
+     * Get indexes of primary columns of a model.
+     *
+     * @param modelReflection a model reflection
+     * @return indexes of primary columns in order of columns
+     */
+    private static List<Integer> getPrimaryIndexes(ModelReflection<?> modelReflection) {
+        List<Integer> primaryIndexes = new ArrayList<>();
+        int index = 0;
+        for (Column<?, ?> column : modelReflection.getColumns().values()) {
+            if (column.isPrimary()) {
+                primaryIndexes.add(index);
+            }
+            index++;
+        }
+        return primaryIndexes;
+    }
+
+    /**
+     * Get primary key values of a model.
+     *
+     * @param modelReflection a model reflection
+     * @param model           a model
+     * @return list of primary key values or null if some of them are not set
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static List<Object> getPrimaryKey(ModelReflection modelReflection, Model<?> model) {
+        Object[] fieldsValues = modelReflection.getFieldsSupplier().getFieldsValues(model);
+        List<Object> primaryKey = new ArrayList<>();
+        for (int index : getPrimaryIndexes(modelReflection)) {
+            if (fieldsValues[index] == null) {
+                return null;
+            }
+            primaryKey.add(fieldsValues[index]);
+        }
+        return primaryKey.isEmpty() ? null : primaryKey;
+    }
+
+    /**
+     * Get reflection of a model class.
+     *
+     * @param model a model
+     * @return a model reflection
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static ModelReflection<?> getModelReflection(Model<?> model) {
+        return Model.getModelReflection((Class) model.getClass());
+    }
+}
@@ -1,23 +1,47 @@
 package fqme.view;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import fqme.cache.EntityCache;
 import fqme.column.Column;
+import fqme.column.common.ForeignColumn;
+import fqme.column.common.numeric.NumericColumn;
 import fqme.column.exceptions.UnsupportedSqlType;
 import fqme.column.exceptions.UnsupportedValueType;
+import fqme.connection.ConnectionManager;
 import fqme.model.Model;
-import fqme.model.reflection.ModelFactory;
 import fqme.model.reflection.ModelReflection;
+import fqme.query.Aggregate;
+import fqme.query.Assignment;
 import fqme.query.Query;
+import fqme.query.Slice;
+import lombok.Cleanup;
+import lombok.RequiredArgsConstructor;
 
 /**
  * A class that provides to manipulate model data in the database.
@@ -37,11 +61,36 @@ import fqme.query.Query;
  * </pre>
  */
 public class View<T extends Model<T>> {
+    /**
+     * Default number of models sent in one statement by
+     * {@link #putMany(Iterable)}.
+     */
+    public static final int DEFAULT_PUT_CHUNK_SIZE = 500;
+
+    /**
+     * Default number of rows fetched per round trip by {@link #iterate(Query)}
+     * and {@link #stream(Query)}.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    /**
+     * Default executor of asynchronous operations.
+     *
+     * Runs every operation on a new virtual thread if the runtime supports
+     * them, otherwise on a cached pool of daemon threads.
+     */
+    public static final Executor DEFAULT_EXECUTOR = createDefaultExecutor();
+
     /**
      * A model class that is associated with this view.
      */
     private final ModelReflection<T> modelReflection;
 
+    /**
+     * A connection to the database.
+     */
+    private final Connection connection;
+
     /**
      * A statement builder that is associated with this view.
      */
@@ -52,19 +101,54 @@ public class View<T extends Model<T>> {
      */
     private final QueryBuilder<T> queryBuilder;
 
+    /**
+     * Models loaded by this view, null if identity map is not enabled.
+     */
+    private IdentityMap<T> identityMap;
+
+    /**
+     * Cache shared with other views, null if caching is not enabled.
+     */
+    private EntityCache cache;
+
+    /**
+     * Primary keys written by this view in a transaction not committed yet,
+     * invalidated in the cache again on {@link #commit()}.
+     */
+    private final Set<List<Object>> uncommittedKeys = new HashSet<>();
+
+    /**
+     * Executor of asynchronous operations.
+     */
+    private Executor executor = DEFAULT_EXECUTOR;
+
     /**
      * Create a view of model for given model class and connection.
      *
+     * Table of the model is created by the first view of the model in the
+     * database, see {@link SchemaRegistry}.
+     *
      * @param modelClass a model class
      * @param connection a connection to the database
      * @throws SQLException if a database access error occurs
      */
     public View(Class<T> modelClass, Connection connection) throws SQLException {
-        this.modelReflection = Model.getModelReflection(modelClass);
+        this(Model.getModelReflection(modelClass), connection);
+
+        SchemaRegistry.ensureSchema(modelReflection, connection);
+    }
+
+    /**
+     * Create a view of model without creating its table.
+     *
+     * @param modelReflection a model reflection
+     * @param connection      a connection to the database
+     */
+    private View(ModelReflection<T> modelReflection, Connection connection) {
+        this.modelReflection = modelReflection;
+        this.connection = connection;
         this.statementBuilder = new StatementBuilder<>(this.modelReflection, connection);
         this.queryBuilder = new QueryBuilder<>(this.modelReflection);
-
-        createTable();
     }
 
     /**
@@ -79,6 +163,99 @@ public class View<T extends Model<T>> {
         return new View<>(modelClass, connection);
     }
 
+    /**
+     * Enable identity map for this view.
+     *
+     * Models fetched by primary keys are served from the map when they are
+     * already loaded, and a row loaded more than once is returned as the same
+     * instance. Put and delete keep the map consistent, rows changed by other
+     * connections are not seen until {@link #clearIdentityMap()}.
+     * Iterators and streams do not use the map.
+     *
+     * @see IdentityMap
+     *
+     * @return this view
+     */
+    public View<T> withIdentityMap() {
+        if (identityMap == null) {
+            identityMap = new IdentityMap<>(modelReflection);
+        }
+        return this;
+    }
+
+    /**
+     * Enable a shared cache for lookups by primary keys.
+     *
+     * Models fetched by {@link #get(Model)} and {@link #getMany(Set)} are
+     * cached as fields values, so every view builds its own instances.
+     * Models put or deleted by any view using the cache are invalidated.
+     * Writes made bypassing the cache are seen after time to live.
+     *
+     * When the connection is not in autocommit mode, models read are not
+     * cached, as they may be uncommitted writes. Models written are
+     * invalidated at once and again on {@link #commit()}, as other views may
+     * cache their committed values until then. A transaction committed
+     * directly on the connection leaves such values cached until they expire.
+     *
+     * @see EntityCache
+     *
+     * @param cache a cache
+     * @return this view
+     */
+    public View<T> withCache(EntityCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * Define executor of asynchronous operations.
+     *
+     * @param executor an executor
+     * @return this view
+     */
+    public View<T> withExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Commit the transaction of the connection and invalidate models written
+     * by this view in it.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public void commit() throws SQLException {
+        connection.commit();
+        if (cache != null) {
+            for (List<Object> primaryKey : uncommittedKeys) {
+                cache.invalidate(modelReflection.getModelClass(), primaryKey);
+            }
+        }
+        uncommittedKeys.clear();
+    }
+
+    /**
+     * Roll back the transaction of the connection.
+     *
+     * Models written by this view in it were already invalidated, values
+     * cached since then are the committed ones.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public void rollback() throws SQLException {
+        uncommittedKeys.clear();
+        connection.rollback();
+    }
+
+    /**
+     * Forget models loaded by this view, if identity map is enabled.
+     */
+    public void clearIdentityMap() {
+        if (identityMap != null) {
+            identityMap.clear();
+        }
+    }
+
     /**
      * Get models by a query.
      *
@@ -92,17 +269,346 @@ public class View<T extends Model<T>> {
         PreparedStatement statement = statementBuilder.buildGetStatement(query);
         statement.execute();
 
+        @Cleanup
         ResultSet resultSet = statement.getResultSet();
+        List<T> rows = new ArrayList<>();
+        readModels(resultSet, rows);
+
         Set<T> models = new HashSet<>();
-        while (resultSet.next()) {
-            models.add(buildModelFromResultSet(resultSet));
+        for (T model : rows) {
+            models.add(identityMap == null ? model : identityMap.load(model));
+        }
+        return models;
+    }
+
+    /**
+     * Get an ordered slice of models by a query.
+     *
+     * @see Slice
+     *
+     * @param query a query
+     * @param slice orders, limit, offset and keyset position
+     * @return a list of models in order of the slice
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     * @throws UnsupportedSqlType   if a value cannot be converted
+     */
+    public List<T> getMany(Query query, Slice slice) throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        Object[] after = slice.getAfter();
+        if (slice.getAfterModel() != null) {
+            after = getSortValues(slice, modelReflection.getModelClass().cast(slice.getAfterModel()));
+        }
+        if (after != null) {
+            query = query.and(slice.buildKeysetQuery(after));
+        }
+
+        PreparedStatement statement = statementBuilder.buildSliceStatement(query, slice);
+        statement.execute();
+
+        @Cleanup
+        ResultSet resultSet = statement.getResultSet();
+        List<T> models = new ArrayList<>();
+        readModels(resultSet, models);
+        if (identityMap != null) {
+            models.replaceAll(identityMap::load);
         }
         return models;
     }
 
+    /**
+     * Get an ordered slice of all models.
+     *
+     * @see #getMany(Query, Slice)
+     *
+     * @param slice orders, limit, offset and keyset position
+     * @return a list of models in order of the slice
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     * @throws UnsupportedSqlType   if a value cannot be converted
+     */
+    public List<T> getMany(Slice slice) throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        return getMany(new Query("TRUE"), slice);
+    }
+
+    /**
+     * Get some columns of models by a query.
+     *
+     * Only selected columns are sent by the database and decoded.
+     *
+     * Example:
+     *
+     * <pre>
+     * {@code
+     * List<Row> rows = userView.select(User.age_.gt(18), User.id_, User.name_);
+     * String name = rows.get(0).get(User.name_);
+     * }
+     * </pre>
+     *
+     * @param query   a query
+     * @param columns columns to select
+     * @return a list of rows in order of the result
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     * @throws UnsupportedSqlType   if a value cannot be converted
+     */
+    public List<Row> select(Query query, Column<?, ?>... columns)
+            throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        PreparedStatement statement = statementBuilder.buildSelectStatement(query, columns);
+        statement.execute();
+
+        @Cleanup
+        ResultSet resultSet = statement.getResultSet();
+        return readRows(resultSet, columns, new Aggregate[0]);
+    }
+
+    /**
+     * Compute aggregates of models by a query.
+     *
+     * Example:
+     *
+     * <pre>
+     * {@code
+     * Row stats = orderView.aggregate(Order.paid_.isTrue(), Aggregate.count(), Aggregate.sum(Order.price_));
+     * long count = stats.getLong(Aggregate.count());
+     * }
+     * </pre>
+     *
+     * @see Aggregate
+     *
+     * @param query      a query
+     * @param aggregates aggregates to compute
+     * @return a row with aggregates
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     * @throws UnsupportedSqlType   if a value cannot be converted
+     */
+    public Row aggregate(Query query, Aggregate... aggregates)
+            throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        return groupBy().aggregate(query, aggregates).get(0);
+    }
+
+    /**
+     * Count models matching a query.
+     *
+     * @param query a query
+     * @return number of models
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     * @throws UnsupportedSqlType   if a value cannot be converted
+     */
+    public long count(Query query) throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        return aggregate(query, Aggregate.count()).getLong(Aggregate.count());
+    }
+
+    /**
+     * Sum values of a column of models matching a query.
+     *
+     * Integer columns are summed as long, big integers as BigDecimal.
+     *
+     * @param column a numeric column
+     * @param query  a query
+     * @return a sum or null if no models match
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     * @throws UnsupportedSqlType   if a value cannot be converted
+     */
+    public Number sum(NumericColumn<?, ?> column, Query query)
+            throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        Aggregate sum = Aggregate.sum(column);
+        return (Number) aggregate(query, sum).get(sum);
+    }
+
+    /**
+     * Average values of a column of models matching a query.
+     *
+     * @param column a numeric column
+     * @param query  a query
+     * @return an average or null if no models match
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     * @throws UnsupportedSqlType   if a value cannot be converted
+     */
+    public Double avg(NumericColumn<?, ?> column, Query query)
+            throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        Aggregate avg = Aggregate.avg(column);
+        Row row = aggregate(query, avg);
+        return row.isNull(avg.getLabel()) ? null : row.getDouble(avg);
+    }
+
+    /**
+     * Get minimum value of a column of models matching a query.
+     *
+     * @param column a column
+     * @param query  a query
+     * @return a minimum or null if no models match
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     * @throws UnsupportedSqlType   if a value cannot be converted
+     */
+    @SuppressWarnings("unchecked")
+    public <K> K min(Column<?, K> column, Query query) throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        Aggregate min = Aggregate.min(column);
+        return (K) aggregate(query, min).get(min);
+    }
+
+    /**
+     * Get maximum value of a column of models matching a query.
+     *
+     * @param column a column
+     * @param query  a query
+     * @return a maximum or null if no models match
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     * @throws UnsupportedSqlType   if a value cannot be converted
+     */
+    @SuppressWarnings("unchecked")
+    public <K> K max(Column<?, K> column, Query query) throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        Aggregate max = Aggregate.max(column);
+        return (K) aggregate(query, max).get(max);
+    }
+
+    /**
+     * Group models by columns to compute aggregates per group.
+     *
+     * Example:
+     *
+     * <pre>
+     * {@code
+     * List<Row> perCity = userView.groupBy(User.city_).aggregate(query, Aggregate.count());
+     * }
+     * </pre>
+     *
+     * @param columns columns to group by
+     * @return a grouping
+     */
+    public Grouping groupBy(Column<?, ?>... columns) {
+        return new Grouping(columns.clone());
+    }
+
+    /**
+     * Aggregates of models grouped by columns.
+     *
+     * @see View#groupBy(Column...)
+     */
+    @RequiredArgsConstructor
+    public class Grouping {
+        /**
+         * Columns to group by.
+         */
+        private final Column<?, ?>[] columns;
+
+        /**
+         * Compute aggregates per group of models matching a query.
+         *
+         * @param query      a query
+         * @param aggregates aggregates to compute
+         * @return a row per group with grouped columns and aggregates
+         * @throws SQLException         if a database access error occurs
+         * @throws UnsupportedValueType if query contains argument with
+         *                              unsupported value type
+         * @throws UnsupportedSqlType   if a value cannot be converted
+         */
+        public List<Row> aggregate(Query query, Aggregate... aggregates)
+                throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+            PreparedStatement statement = statementBuilder.buildAggregateStatement(query, columns, aggregates);
+            statement.execute();
+
+            @Cleanup
+            ResultSet resultSet = statement.getResultSet();
+            return readRows(resultSet, columns, aggregates);
+        }
+    }
+
+    /**
+     * Lazily iterate models by a query.
+     *
+     * Rows are fetched with {@link #DEFAULT_FETCH_SIZE}.
+     *
+     * @see #iterate(Query, int)
+     *
+     * @param query a query
+     * @return an iterator that must be closed
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     */
+    public ModelIterator<T> iterate(Query query) throws SQLException, UnsupportedValueType {
+        return iterate(query, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Lazily iterate models by a query.
+     *
+     * Rows are read from a server-side cursor by {@code fetchSize} rows,
+     * so memory stays constant regardless of number of matched rows.
+     * The connection is kept in a transaction until the iterator is closed.
+     *
+     * @see ModelIterator
+     *
+     * @param query     a query
+     * @param fetchSize number of rows fetched per round trip
+     * @return an iterator that must be closed
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     */
+    public ModelIterator<T> iterate(Query query, int fetchSize) throws SQLException, UnsupportedValueType {
+        return new ModelIterator<>(modelReflection, statementBuilder.buildStreamStatement(query, fetchSize));
+    }
+
+    /**
+     * Lazily stream models by a query.
+     *
+     * Rows are fetched with {@link #DEFAULT_FETCH_SIZE}.
+     *
+     * @see #stream(Query, int)
+     *
+     * @param query a query
+     * @return a stream that must be closed
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     */
+    public Stream<T> stream(Query query) throws SQLException, UnsupportedValueType {
+        return stream(query, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Lazily stream models by a query.
+     *
+     * Stream is backed by {@link #iterate(Query, int)}, closing the stream
+     * closes the cursor. Use it in try-with-resources block.
+     *
+     * @param query     a query
+     * @param fetchSize number of rows fetched per round trip
+     * @return a stream that must be closed
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     */
+    public Stream<T> stream(Query query, int fetchSize) throws SQLException, UnsupportedValueType {
+        ModelIterator<T> iterator = iterate(query, fetchSize);
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+
     /**
      * Get model from database by its primary keys.
      *
+     * Keys are bound as arrays and split into chunks, see
+     * {@link QueryBuilder#fetchPrimaryKeys(Collection)}. Models already in
+     * the identity map or the cache are not fetched.
+     *
      * @param models a set of models
      * @return a set of models
      * @throws SQLException         if a database access error occurs
@@ -110,11 +616,103 @@ public class View<T extends Model<T>> {
      *                              value type
      */
     public Set<T> getMany(Set<T> models) throws SQLException, UnsupportedValueType, UnsupportedSqlType {
-        Set<Query> queries = new HashSet<>();
+        Set<T> fetched = new HashSet<>();
+        Collection<T> missing = models;
+        if (identityMap != null || cache != null) {
+            missing = new ArrayList<>();
+            for (T model : models) {
+                T loaded = identityMap == null ? null : identityMap.get(model);
+                if (loaded == null && cache != null) {
+                    loaded = getCached(model);
+                }
+                if (loaded != null) {
+                    fetched.add(loaded);
+                } else {
+                    missing.add(model);
+                }
+            }
+        }
+        for (Query query : queryBuilder.fetchPrimaryKeys(missing)) {
+            // models written meanwhile may be read stale, so they are not cached
+            long stamp = cache == null ? 0 : cache.stamp(modelReflection.getModelClass());
+            Set<T> loaded = getMany(query);
+            putCached(loaded, stamp);
+            fetched.addAll(loaded);
+        }
+        return fetched;
+    }
+
+    /**
+     * Load models referenced by a foreign column of models.
+     *
+     * Distinct not null references are fetched with one {@code = ANY(?)}
+     * query per {@link QueryBuilder#PRIMARY_KEYS_CHUNK_SIZE} values, instead
+     * of a query per model. Referenced models are read on the connection of
+     * this view and share its cache: if the column references the primary
+     * key, cached models are not fetched, and fetched models are cached.
+     *
+     * <pre>
+     * {@code
+     * Set<Order> orders = orderView.getMany(query);
+     * Map<Integer, User> users = orderView.loadReferenced(orders, Order.userId_, User.class);
+     * User user = users.get(order.getUserId());
+     * }
+     * </pre>
+     *
+     * @param models     models with references
+     * @param column     a foreign column of the model
+     * @param modelClass class of the referenced model
+     * @return referenced models by values of the referenced column
+     * @throws SQLException             if a database access error occurs
+     * @throws IllegalArgumentException if the column does not belong to the
+     *                                  model or references another model
+     */
+    public <M extends Model<M>> Map<Integer, M> loadReferenced(Collection<T> models, ForeignColumn column,
+            Class<M> modelClass) throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        if (!modelClass.equals(column.getReferencedModelClass())) {
+            throw new IllegalArgumentException("Column %s does not reference %s"
+                    .formatted(column.getName(), modelClass.getSimpleName()));
+        }
+        int columnIndex = getColumnIndex(modelReflection, column.getName());
+        Set<Integer> references = new HashSet<>();
         for (T model : models) {
-            queries.add(queryBuilder.fetchPrimaryKeys(model));
+            Integer reference = (Integer) modelReflection.getFieldsSupplier().getFieldsValues(model)[columnIndex];
+            if (reference != null) {
+                references.add(reference);
+            }
         }
-        return getMany(Query.any(queries));
+
+        Map<Integer, M> referenced = new HashMap<>();
+        if (references.isEmpty()) {
+            return referenced;
+        }
+        ModelReflection<M> referencedReflection = Model.getModelReflection(modelClass);
+        int referencedIndex = getColumnIndex(referencedReflection, column.getReferencedColumnName());
+        View<M> view = new View<>(referencedReflection, connection);
+        view.cache = cache;
+
+        List<Integer> values = new ArrayList<>();
+        boolean byPrimaryKey = cache != null && isOnlyPrimaryColumn(referencedReflection, referencedIndex);
+        for (Integer reference : references) {
+            M cached = byPrimaryKey ? view.fromCache(List.<Object>of(reference)) : null;
+            if (cached != null) {
+                referenced.put(reference, cached);
+            } else {
+                values.add(reference);
+            }
+        }
+        for (int from = 0; from < values.size(); from += QueryBuilder.PRIMARY_KEYS_CHUNK_SIZE) {
+            List<Integer> chunk = values.subList(from,
+                    Math.min(from + QueryBuilder.PRIMARY_KEYS_CHUNK_SIZE, values.size()));
+            long stamp = cache == null ? 0 : cache.stamp(referencedReflection.getModelClass());
+            Set<M> loaded = view.getMany(column.getReferencedColumn().in(chunk));
+            view.putCached(loaded, stamp);
+            for (M model : loaded) {
+                Object[] fieldsValues = referencedReflection.getFieldsSupplier().getFieldsValues(model);
+                referenced.put((Integer) fieldsValues[referencedIndex], model);
+            }
+        }
+        return referenced;
     }
 
     /**
@@ -149,17 +747,24 @@ public class View<T extends Model<T>> {
         PreparedStatement statement = statementBuilder.buildDeleteStatement(query);
         statement.execute();
 
+        @Cleanup
         ResultSet resultSet = statement.getResultSet();
         Set<T> models = new HashSet<>();
-        while (resultSet.next()) {
-            models.add(buildModelFromResultSet(resultSet));
+        readModels(resultSet, models);
+        if (identityMap != null) {
+            models.forEach(identityMap::remove);
         }
+        invalidateCached(models);
+        models.forEach(model -> model.markLoaded(null));
         return models;
     }
 
     /**
      * Delete models by its primary keys.
      *
+     * Given models forget their loaded values, so a later put inserts them
+     * back instead of updating changed columns of a missing row.
+     *
      * @param models a set of models
      * @return a set of deleted models
      * @throws SQLException         if a database access error occurs
@@ -167,12 +772,15 @@ public class View<T extends Model<T>> {
      *                              value type
      */
     public Set<T> deleteMany(Iterable<T> models) throws SQLException, UnsupportedValueType, UnsupportedSqlType {
-        List<Query> queries = new ArrayList<>();
-        for (T model : models) {
-            queries.add(queryBuilder.fetchPrimaryKeys(model));
+        List<T> modelsList = new ArrayList<>();
+        models.forEach(modelsList::add);
+
+        Set<T> deleted = new HashSet<>();
+        for (Query query : queryBuilder.fetchPrimaryKeys(modelsList)) {
+            deleted.addAll(this.deleteMany(query));
         }
-        Query query = Query.any(queries);
-        return this.deleteMany(query);
+        modelsList.forEach(model -> model.markLoaded(null));
+        return deleted;
     }
 
     /**
@@ -194,27 +802,444 @@ public class View<T extends Model<T>> {
     }
 
     /**
-     * Put a model.
+     * Delete models by a query without building deleted models.
      *
-     * @param model a model
-     * @return a set of models
+     * Only primary keys are returned by the database, and only if they are
+     * needed to keep the identity map or the cache consistent.
+     *
+     * @param query a query
+     * @return number of deleted rows
      * @throws SQLException         if a database access error occurs
      * @throws UnsupportedValueType if query contains argument with unsupported
      *                              value type
      */
-    public Set<T> putMany(Iterable<T> models) throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+    public long deleteManyCount(Query query) throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        if (!isTrackingKeys()) {
+            return statementBuilder.buildDeleteStatement(query, Returning.NONE).executeUpdate();
+        }
+        return deleteManyKeys(query).size();
+    }
+
+    /**
+     * Delete models by their primary keys without building deleted models.
+     *
+     * Given models forget their loaded values, as by
+     * {@link #deleteMany(Iterable)}.
+     *
+     * @see #deleteManyCount(Query)
+     *
+     * @param models models with primary keys
+     * @return number of deleted rows
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     */
+    public long deleteManyCount(Iterable<T> models) throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        List<T> modelsList = new ArrayList<>();
+        models.forEach(modelsList::add);
+
+        long count = 0;
+        for (Query query : queryBuilder.fetchPrimaryKeys(modelsList)) {
+            count += deleteManyCount(query);
+        }
+        modelsList.forEach(model -> model.markLoaded(null));
+        return count;
+    }
+
+    /**
+     * Delete models by a query, returning primary keys of deleted rows.
+     *
+     * @param query a query
+     * @return rows of primary columns of deleted models
+     * @throws SQLException             if a database access error occurs
+     * @throws UnsupportedValueType     if query contains argument with
+     *                                  unsupported value type
+     * @throws IllegalArgumentException if the model has no primary columns
+     */
+    public List<Row> deleteManyKeys(Query query) throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        PreparedStatement statement = statementBuilder.buildDeleteStatement(query, Returning.KEYS);
+        statement.execute();
+
+        @Cleanup
+        ResultSet resultSet = statement.getResultSet();
+        List<Row> keys = readRows(resultSet, getPrimaryColumns(), new Aggregate[0]);
+        forgetKeys(keys);
+        return keys;
+    }
+
+    /**
+     * Update columns of models matching a query with a single statement.
+     *
+     * Rows are not read before the update, so it takes one round trip for
+     * any number of rows.
+     *
+     * @see #updateManyCount(Query, Assignment...)
+     *
+     * @param query       a query
+     * @param assignments assignments of columns, like {@code User.active_.set(false)}
+     * @return a set of updated models
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     */
+    public Set<T> updateMany(Query query, Assignment... assignments)
+            throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        PreparedStatement statement = statementBuilder.buildUpdateWhereStatement(query, assignments, Returning.ALL);
+        statement.execute();
+
+        @Cleanup
+        ResultSet resultSet = statement.getResultSet();
+        Set<T> models = new HashSet<>();
+        readModels(resultSet, models);
+        if (identityMap != null) {
+            models.forEach(identityMap::store);
+        }
+        invalidateCached(models);
+        return models;
+    }
+
+    /**
+     * Update columns of models matching a query without building updated
+     * models.
+     *
+     * Only primary keys are returned by the database, and only if they are
+     * needed to keep the identity map or the cache consistent.
+     *
+     * @param query       a query
+     * @param assignments assignments of columns, like {@code User.active_.set(false)}
+     * @return number of updated rows
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     */
+    public long updateManyCount(Query query, Assignment... assignments)
+            throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        if (!isTrackingKeys()) {
+            return statementBuilder.buildUpdateWhereStatement(query, assignments, Returning.NONE).executeUpdate();
+        }
+        PreparedStatement statement = statementBuilder.buildUpdateWhereStatement(query, assignments, Returning.KEYS);
+        statement.execute();
+
+        @Cleanup
+        ResultSet resultSet = statement.getResultSet();
+        List<Row> keys = readRows(resultSet, getPrimaryColumns(), new Aggregate[0]);
+        forgetKeys(keys);
+        return keys.size();
+    }
+
+    /**
+     * Put many models.
+     *
+     * Models are sent in chunks of {@link #DEFAULT_PUT_CHUNK_SIZE} rows.
+     *
+     * @see #putMany(Iterable, int)
+     *
+     * @param models models to put
+     * @return a set of put models
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     */
+    public Set<T> putMany(Iterable<T> models) throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        return putMany(models, DEFAULT_PUT_CHUNK_SIZE);
+    }
+
+    /**
+     * Put many models.
+     *
+     * Models with the same null pattern of primary columns are grouped and sent
+     * with a single multi-row upsert per chunk, so the number of round trips
+     * is proportional to the number of chunks instead of the number of models.
+     * Rows are bound as an array per column, so chunks of any size share one
+     * prepared statement. A model repeating a primary key pending in any
+     * chunk flushes that chunk first, so the last put of a key wins.
+     *
+     * Models read or written by a view remember their stored values (see
+     * {@link Model#loadedValues()}). Such models are updated by changed
+     * columns only, grouped by the set of changed columns, and are not sent
+     * at all if nothing changed. Rows missed by an update, as they were
+     * deleted since the models were loaded, are upserted with all columns.
+     *
+     * @param models    models to put
+     * @param chunkSize maximum number of models sent in one statement
+     * @return a set of put models with values generated by the database,
+     *         including unchanged models
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     */
+    public Set<T> putMany(Iterable<T> models, int chunkSize)
+            throws SQLException, UnsupportedValueType, UnsupportedSqlType {
         Set<T> result = new HashSet<>();
-        for (T model : models) {
-            PreparedStatement statement = statementBuilder.buildPutStatement(model);
-            statement.executeQuery();
+        writeChunks(models, chunkSize, result, chunk -> {
+            PreparedStatement statement = buildWriteStatement(chunk, Returning.ALL);
+            statement.execute();
+            @Cleanup
             ResultSet resultSet = statement.getResultSet();
-            if (resultSet.next()) {
-                result.add(buildModelFromResultSet(resultSet));
+            List<T> written = new ArrayList<>();
+            readModels(resultSet, written);
+            if (identityMap != null) {
+                written.forEach(identityMap::store);
             }
-        }
+            invalidateCached(written);
+            result.addAll(written);
+            Set<List<Object>> keys = new HashSet<>();
+            for (T model : written) {
+                keys.add(getPrimaryKey(modelReflection.getFieldsSupplier().getFieldsValues(model)));
+            }
+            return keys;
+        });
         return result;
     }
 
+    /**
+     * Put many models without building written models.
+     *
+     * Models are sent in chunks of {@link #DEFAULT_PUT_CHUNK_SIZE} rows.
+     *
+     * @see #putManyCount(Iterable, int)
+     *
+     * @param models models to put
+     * @return number of written rows
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     */
+    public long putManyCount(Iterable<T> models) throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        return putManyCount(models, DEFAULT_PUT_CHUNK_SIZE);
+    }
+
+    /**
+     * Put many models without building written models.
+     *
+     * Upserts have no RETURNING clause, so only affected rows are counted.
+     * Updates of loaded models return their primary keys, to upsert rows
+     * they missed. Unchanged loaded models are not counted. Models with primary keys are
+     * forgotten by the identity map and the cache, as the database may have
+     * changed their other values.
+     *
+     * @see #putMany(Iterable, int)
+     *
+     * @param models    models to put
+     * @param chunkSize maximum number of models sent in one statement
+     * @return number of written rows
+     * @throws SQLException         if a database access error occurs
+     * @throws UnsupportedValueType if query contains argument with unsupported
+     *                              value type
+     */
+    public long putManyCount(Iterable<T> models, int chunkSize)
+            throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        long[] count = { 0 };
+        writeChunks(models, chunkSize, null, chunk -> writeCounted(chunk, count));
+        return count[0];
+    }
+
+    /**
+     * Put many models, returning primary keys of written rows.
+     *
+     * Useful to get keys generated by the database without reading other
+     * columns. Unchanged loaded models are skipped. Models are sent in chunks
+     * of {@link #DEFAULT_PUT_CHUNK_SIZE} rows.
+     *
+     * @see #putMany(Iterable, int)
+     *
+     * @param models models to put
+     * @return rows of primary columns of written models
+     * @throws SQLException             if a database access error occurs
+     * @throws UnsupportedValueType     if query contains argument with
+     *                                  unsupported value type
+     * @throws IllegalArgumentException if the model has no primary columns
+     */
+    public List<Row> putManyKeys(Iterable<T> models) throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        List<Row> keys = new ArrayList<>();
+        writeChunks(models, DEFAULT_PUT_CHUNK_SIZE, null, chunk -> {
+            PreparedStatement statement = buildWriteStatement(chunk, Returning.KEYS);
+            statement.execute();
+            @Cleanup
+            ResultSet resultSet = statement.getResultSet();
+            List<Row> written = readRows(resultSet, getPrimaryColumns(), new Aggregate[0]);
+            forgetKeys(written);
+            keys.addAll(written);
+            return new HashSet<>(toPrimaryKeys(written));
+        });
+        return keys;
+    }
+
+    /**
+     * Put many models, assigning keys generated by the database to models
+     * with null primary keys.
+     *
+     * Keys of a chunk of models with null primary keys are reserved from
+     * sequences of the columns first (see
+     * {@link SqlTemplates#getNextKeysSql(int)}), set to the models by
+     * position, and then the chunk is upserted with all columns. So models
+     * can be referenced by their keys after the put without building new
+     * models. Unchanged loaded models are skipped. Models are sent in chunks
+     * of {@link #DEFAULT_PUT_CHUNK_SIZE} rows.
+     *
+     * @see #putManyCount(Iterable)
+     *
+     * @param models models to put
+     * @return number of written rows
+     * @throws SQLException             if a database access error occurs or
+     *                                  does not reserve a key per model
+     * @throws UnsupportedValueType     if query contains argument with
+     *                                  unsupported value type
+     * @throws IllegalArgumentException if a null primary column is not serial
+     */
+    @SuppressWarnings("unchecked")
+    public long putManyAssignKeys(Iterable<T> models) throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        Column<?, ?>[] primaryColumns = getPrimaryColumns();
+        int[] primaryIndexes = new int[primaryColumns.length];
+        for (int index = 0; index < primaryColumns.length; index++) {
+            primaryIndexes[index] = getColumnIndex(modelReflection, primaryColumns[index].getName());
+        }
+
+        long[] count = { 0 };
+        writeChunks(models, DEFAULT_PUT_CHUNK_SIZE, null, chunk -> {
+            int nullPattern = statementBuilder.getNullPattern(chunk.rows.get(0));
+            if (chunk.changedColumns == SqlTemplates.UNTRACKED && nullPattern != 0) {
+                List<Integer> generated = new ArrayList<>();
+                for (int index = 0; index < primaryColumns.length; index++) {
+                    if ((nullPattern & (1 << index)) != 0) {
+                        generated.add(index);
+                    }
+                }
+                PreparedStatement statement = statementBuilder.buildNextKeysStatement(nullPattern, chunk.rows.size());
+                statement.execute();
+                @Cleanup
+                ResultSet resultSet = statement.getResultSet();
+                List<Row> keys = readRows(resultSet,
+                        generated.stream().map(index -> primaryColumns[index]).toArray(Column<?, ?>[]::new),
+                        new Aggregate[0]);
+                if (keys.size() != chunk.rows.size()) {
+                    throw new SQLException("Reserved %d keys of %s for %d rows"
+                            .formatted(keys.size(), modelReflection.getTableName(), chunk.rows.size()));
+                }
+                for (int row = 0; row < keys.size(); row++) {
+                    Object[] fieldsValues = chunk.rows.get(row);
+                    T model = (T) chunk.models.get(row);
+                    for (int index : generated) {
+                        Object value = keys.get(row).get(primaryColumns[index]);
+                        fieldsValues[primaryIndexes[index]] = value;
+                        modelReflection.getFieldSetter().setFieldValue(model, primaryIndexes[index], value);
+                    }
+                }
+            }
+            return writeCounted(chunk, count);
+        });
+        return count[0];
+    }
+
+    /**
+     * Group models in chunks sent with a single multi-row statement.
+     *
+     * Models that are not loaded are grouped by null pattern of primary
+     * columns and upserted, loaded models are grouped by changed columns and
+     * updated. A chunk is written when it is full, or earlier if a primary
+     * key of a model is pending in it, so writes of the same key keep their
+     * order.
+     *
+     * @param models    models to put
+     * @param chunkSize maximum number of models sent in one statement
+     * @param unchanged a collection to add unchanged loaded models to or null
+     * @param writer    a writer of chunks
+     */
+    private void writeChunks(Iterable<T> models, int chunkSize, Collection<T> unchanged, ChunkWriter writer)
+            throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+
+        Map<Integer, PutChunk> putChunks = new HashMap<>();
+        Map<Long, PutChunk> updateChunks = new HashMap<>();
+        Map<List<Object>, PutChunk> pendingKeys = new HashMap<>();
+        for (T model : models) {
+            Object[] fieldsValues = modelReflection.getFieldsSupplier().getFieldsValues(model);
+            List<Object> primaryKey = getPrimaryKey(fieldsValues);
+            PutChunk pending = primaryKey == null ? null : pendingKeys.get(primaryKey);
+            if (pending != null) {
+                flushPutChunk(pending, writer, pendingKeys);
+            }
+
+            int nullPattern = statementBuilder.getNullPattern(fieldsValues);
+            long changedColumns = statementBuilder.getChangedColumns(model.loadedValues(), fieldsValues);
+            if (changedColumns == 0) {
+                if (unchanged != null) {
+                    unchanged.add(model);
+                }
+                continue;
+            }
+
+            PutChunk chunk;
+            if (changedColumns == SqlTemplates.UNTRACKED) {
+                chunk = putChunks.computeIfAbsent(nullPattern, pattern -> new PutChunk(SqlTemplates.UNTRACKED));
+            } else {
+                chunk = updateChunks.computeIfAbsent(changedColumns, PutChunk::new);
+            }
+            chunk.models.add(model);
+            chunk.rows.add(fieldsValues);
+            if (primaryKey != null) {
+                chunk.primaryKeys.add(primaryKey);
+                pendingKeys.put(primaryKey, chunk);
+            }
+            if (chunk.rows.size() >= chunkSize) {
+                flushPutChunk(chunk, writer, pendingKeys);
+            }
+        }
+        for (PutChunk chunk : putChunks.values()) {
+            flushPutChunk(chunk, writer, pendingKeys);
+        }
+        for (PutChunk chunk : updateChunks.values()) {
+            flushPutChunk(chunk, writer, pendingKeys);
+        }
+    }
+
+    /**
+     * Build upsert or update statement of a chunk.
+     *
+     * @param chunk     a chunk of rows
+     * @param returning returned rows
+     * @return a statement
+     */
+    private PreparedStatement buildWriteStatement(PutChunk chunk, Returning returning)
+            throws SQLException, UnsupportedValueType {
+        if (chunk.changedColumns == SqlTemplates.UNTRACKED) {
+            return statementBuilder.buildPutStatement(chunk.rows, returning);
+        }
+        return statementBuilder.buildUpdateStatement(chunk.rows, chunk.changedColumns, returning);
+    }
+
+    /**
+     * Write a chunk counting written rows, reading primary keys of updates
+     * only.
+     *
+     * @param chunk a chunk of rows
+     * @param count a counter of written rows
+     * @return primary keys of updated rows or null for an upsert
+     */
+    private Set<List<Object>> writeCounted(PutChunk chunk, long[] count)
+            throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        if (chunk.changedColumns == SqlTemplates.UNTRACKED) {
+            count[0] += buildWriteStatement(chunk, Returning.NONE).executeUpdate();
+            for (Object[] fieldsValues : chunk.rows) {
+                List<Object> primaryKey = getPrimaryKey(fieldsValues);
+                if (primaryKey != null) {
+                    forgetKey(primaryKey);
+                }
+            }
+            return null;
+        }
+        PreparedStatement statement = buildWriteStatement(chunk, Returning.KEYS);
+        statement.execute();
+        @Cleanup
+        ResultSet resultSet = statement.getResultSet();
+        List<Row> keys = readRows(resultSet, getPrimaryColumns(), new Aggregate[0]);
+        forgetKeys(keys);
+        count[0] += keys.size();
+        return new HashSet<>(toPrimaryKeys(keys));
+    }
+
     /**
      * Overload of {@link #put(Iterable)} for a single model.
      *
@@ -233,7 +1258,143 @@ public class View<T extends Model<T>> {
     }
 
     /**
-     * Build a model from result set.
+     * Insert models with PostgreSQL COPY.
+     *
+     * Buffers {@link BulkCopy#DEFAULT_BUFFER_SIZE} bytes.
+     *
+     * @see #copyIn(Stream, int)
+     *
+     * @param models models to insert
+     * @return number of inserted rows and throughput
+     * @throws SQLException if a database access error occurs
+     */
+    public CopyReport copyIn(Stream<T> models) throws SQLException {
+        return copyIn(models, BulkCopy.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Insert models with PostgreSQL COPY.
+     *
+     * Much faster than {@link #putMany(Iterable)} for large loads, but does
+     * not update existing rows and does not return inserted models. Models
+     * are encoded while the stream is consumed, so memory is bounded by the
+     * buffer size.
+     *
+     * @see BulkCopy#copyIn(Stream)
+     *
+     * @param models     models to insert
+     * @param bufferSize size of the transfer buffer in bytes
+     * @return number of inserted rows and throughput
+     * @throws SQLException if a database access error occurs
+     */
+    public CopyReport copyIn(Stream<T> models, int bufferSize) throws SQLException {
+        return new BulkCopy<>(modelReflection, connection, bufferSize).copyIn(models);
+    }
+
+    /**
+     * Export models matching a query with PostgreSQL COPY.
+     *
+     * @see #copyOut(Query, WritableByteChannel, CopyFormat)
+     *
+     * @param query        a query
+     * @param outputStream a stream to write to, not closed
+     * @param format       a data format
+     * @return number of exported rows and throughput
+     * @throws SQLException if a database access error occurs
+     * @throws IOException  if the stream cannot be written
+     */
+    public CopyReport copyOut(Query query, OutputStream outputStream, CopyFormat format)
+            throws SQLException, IOException {
+        return copyOut(query, Channels.newChannel(outputStream), format);
+    }
+
+    /**
+     * Export models matching a query with PostgreSQL COPY.
+     *
+     * Bytes go from the driver to the channel through a buffer of
+     * {@link BulkCopy#DEFAULT_BUFFER_SIZE} bytes without building models, so
+     * memory does not depend on the export size.
+     *
+     * @see BulkCopy#copyOut(Query, WritableByteChannel, CopyFormat)
+     *
+     * @param query   a query
+     * @param channel a channel to write to, not closed
+     * @param format  a data format
+     * @return number of exported rows and throughput
+     * @throws SQLException if a database access error occurs
+     * @throws IOException  if the channel cannot be written
+     */
+    public CopyReport copyOut(Query query, WritableByteChannel channel, CopyFormat format)
+            throws SQLException, IOException {
+        return new BulkCopy<>(modelReflection, connection, BulkCopy.DEFAULT_BUFFER_SIZE)
+                .copyOut(query, channel, format);
+    }
+
+    /**
+     * Asynchronously get models by a query.
+     *
+     * @see #supplyAsync(ViewOperation)
+     *
+     * @param query a query
+     * @return a future of a set of models
+     */
+    public CompletableFuture<Set<T>> getManyAsync(Query query) {
+        return supplyAsync(view -> view.getMany(query));
+    }
+
+    /**
+     * Asynchronously get models by their primary keys.
+     *
+     * @see #supplyAsync(ViewOperation)
+     *
+     * @param models a set of models
+     * @return a future of a set of models
+     */
+    public CompletableFuture<Set<T>> getManyAsync(Set<T> models) {
+        return supplyAsync(view -> view.getMany(models));
+    }
+
+    /**
+     * Asynchronously put many models.
+     *
+     * @see #supplyAsync(ViewOperation)
+     *
+     * @param models models to put
+     * @return a future of a set of put models
+     */
+    public CompletableFuture<Set<T>> putManyAsync(Iterable<T> models) {
+        return supplyAsync(view -> view.putMany(models));
+    }
+
+    /**
+     * Asynchronously delete models by a query.
+     *
+     * @see #supplyAsync(ViewOperation)
+     *
+     * @param query a query
+     * @return a future of a set of deleted models
+     */
+    public CompletableFuture<Set<T>> deleteManyAsync(Query query) {
+        return supplyAsync(view -> view.deleteMany(query));
+    }
+
+    /**
+     * Asynchronously delete models by their primary keys.
+     *
+     * @see #supplyAsync(ViewOperation)
+     *
+     * @param models models to delete
+     * @return a future of a set of deleted models
+     */
+    public CompletableFuture<Set<T>> deleteManyAsync(Iterable<T> models) {
+        return supplyAsync(view -> view.deleteMany(models));
+    }
+
+    /**
+     * Build a model from the current row of a result set.
+     *
+     * Resolves columns positions on every call, so use {@link RowMapper} to
+     * read many rows of the same result set.
      *
      * @param resultSet a result set
      * @return a model
@@ -242,23 +1403,421 @@ public class View<T extends Model<T>> {
      *                              value type
      */
     public T buildModelFromResultSet(ResultSet resultSet) throws SQLException, UnsupportedSqlType {
-        List<Object> fields = new ArrayList<>();
-        for (Column<?, ?> column : modelReflection.getColumns().values()) {
-            Object sqlValue = resultSet.getObject(column.getName());
-            fields.add(column.fromSqlType(sqlValue));
+        return RowMapper.of(modelReflection, resultSet).map(resultSet);
+    }
+
+    /**
+     * Build models from all remaining rows of a result set.
+     *
+     * @param resultSet a result set
+     * @param models    a collection to add models to
+     * @throws SQLException       if a database access error occurs
+     * @throws UnsupportedSqlType if a value cannot be converted
+     */
+    private void readModels(ResultSet resultSet, Collection<T> models) throws SQLException, UnsupportedSqlType {
+        RowMapper<T> rowMapper = RowMapper.of(modelReflection, resultSet);
+        while (resultSet.next()) {
+            models.add(rowMapper.map(resultSet));
         }
-        ModelFactory<T> modelFactory = modelReflection.getModelFactory();
-        return modelFactory.fromFields(fields);
     }
 
     /**
-     * Create a table for this view.
+     * Build rows of columns followed by aggregates from all remaining rows of
+     * a result set.
      *
-     * @throws SQLException if a database access error occurs
+     * @param resultSet  a result set
+     * @param columns    selected columns
+     * @param aggregates selected aggregates
+     * @return a list of rows
+     * @throws SQLException       if a database access error occurs
+     * @throws UnsupportedSqlType if a value cannot be converted
+     */
+    private List<Row> readRows(ResultSet resultSet, Column<?, ?>[] columns, Aggregate[] aggregates)
+            throws SQLException, UnsupportedSqlType {
+        List<String> labels = new ArrayList<>();
+        for (Column<?, ?> column : columns) {
+            labels.add(column.getName());
+        }
+        for (Aggregate aggregate : aggregates) {
+            labels.add(aggregate.getLabel());
+        }
+        Map<String, Integer> positions = Row.positionsOf(labels);
+
+        List<Row> rows = new ArrayList<>();
+        while (resultSet.next()) {
+            Object[] values = new Object[labels.size()];
+            for (int index = 0; index < columns.length; index++) {
+                values[index] = columns[index].fromResultSet(resultSet, index + 1);
+            }
+            for (int index = 0; index < aggregates.length; index++) {
+                int position = columns.length + index;
+                values[position] = aggregates[index].fromResultSet(resultSet, position + 1);
+            }
+            rows.add(new Row(positions, values));
+        }
+        return rows;
+    }
+
+    /**
+     * Write pending rows of a chunk and clear it.
+     *
+     * Written models with primary keys remember written values, so they are
+     * not sent again until changed. Rows of an update whose keys are not
+     * returned were deleted meanwhile, they are written again by an upsert.
      *
+     * @param chunk       a chunk of rows with the same statement
+     * @param writer      a writer of chunks
+     * @param pendingKeys chunks of pending primary keys to forget written
+     *                    keys in
      */
-    private void createTable() throws SQLException {
-        PreparedStatement statement = statementBuilder.buildCreateTableStatement();
-        statement.execute();
+    private void flushPutChunk(PutChunk chunk, ChunkWriter writer, Map<List<Object>, PutChunk> pendingKeys)
+            throws SQLException, UnsupportedValueType, UnsupportedSqlType {
+        if (chunk.rows.isEmpty()) {
+            return;
+        }
+        Set<List<Object>> written = writer.write(chunk);
+        if (chunk.changedColumns != SqlTemplates.UNTRACKED) {
+            PutChunk missed = new PutChunk(SqlTemplates.UNTRACKED);
+            for (int index = 0; index < chunk.rows.size(); index++) {
+                if (!written.contains(getPrimaryKey(chunk.rows.get(index)))) {
+                    missed.models.add(chunk.models.get(index));
+                    missed.rows.add(chunk.rows.get(index));
+                }
+            }
+            if (!missed.rows.isEmpty()) {
+                writer.write(missed);
+            }
+        }
+        for (int index = 0; index < chunk.rows.size(); index++) {
+            Object[] fieldsValues = chunk.rows.get(index);
+            if (getPrimaryKey(fieldsValues) != null) {
+                chunk.models.get(index).markLoaded(fieldsValues);
+            }
+        }
+        pendingKeys.keySet().removeAll(chunk.primaryKeys);
+        chunk.models.clear();
+        chunk.rows.clear();
+        chunk.primaryKeys.clear();
+    }
+
+    /**
+     * Run an operation on the executor of this view.
+     *
+     * The operation leases its own connection from {@link ConnectionManager},
+     * so the model must be bound, and runs on a view sharing the cache of
+     * this one. Connection is closed, or returned to its pool, when the
+     * operation completes. Identity map is not used, as it is not
+     * thread-safe.
+     *
+     * @param operation an operation
+     * @return a future completed with the operation result or its error
+     */
+    private <R> CompletableFuture<R> supplyAsync(ViewOperation<T, R> operation) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection connection = ConnectionManager.getConnection(modelReflection.getModelClass())) {
+                View<T> view = new View<>(modelReflection, connection);
+                view.cache = cache;
+                return operation.apply(view);
+            } catch (SQLException | UnsupportedValueType | UnsupportedSqlType e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Create the default executor of asynchronous operations.
+     *
+     * Virtual threads are looked up reflectively, as they are not available
+     * in the minimal supported Java version.
+     *
+     * @return an executor
+     */
+    private static Executor createDefaultExecutor() {
+        try {
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AtomicInteger threadsCount = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "fqme-async-" + threadsCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Get index of a column in fields values of a model.
+     *
+     * @param reflection a model reflection
+     * @param columnName a column name
+     * @return index of the column
+     * @throws IllegalArgumentException if the column does not belong to the
+     *                                  model
+     */
+    private static int getColumnIndex(ModelReflection<?> reflection, String columnName) {
+        int columnIndex = new ArrayList<>(reflection.getColumns().keySet()).indexOf(columnName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException("Column %s does not belong to the model".formatted(columnName));
+        }
+        return columnIndex;
+    }
+
+    /**
+     * Check if a column is the only primary column of a model.
+     *
+     * @param reflection  a model reflection
+     * @param columnIndex index of the column
+     * @return true if the column alone is the primary key
+     */
+    private static boolean isOnlyPrimaryColumn(ModelReflection<?> reflection, int columnIndex) {
+        int index = 0;
+        for (Column<?, ?> column : reflection.getColumns().values()) {
+            if (column.isPrimary() != (index == columnIndex)) {
+                return false;
+            }
+            index++;
+        }
+        return true;
+    }
+
+    /**
+     * Get values of order columns of a slice from a model.
+     *
+     * @param slice a slice
+     * @param model a model
+     * @return sort values in order of orders
+     * @throws IllegalArgumentException if a column does not belong to the model
+     */
+    private Object[] getSortValues(Slice slice, T model) {
+        Object[] fieldsValues = modelReflection.getFieldsSupplier().getFieldsValues(model);
+        Object[] values = new Object[slice.getOrders().size()];
+        for (int index = 0; index < values.length; index++) {
+            String columnName = slice.getOrders().get(index).getColumn().getName();
+            values[index] = fieldsValues[getColumnIndex(modelReflection, columnName)];
+        }
+        return values;
+    }
+
+    /**
+     * Build a model from the cache.
+     *
+     * @param model a model with primary keys
+     * @return a cached model or null if it is not cached
+     */
+    private T getCached(T model) {
+        List<Object> primaryKey = getPrimaryKey(modelReflection.getFieldsSupplier().getFieldsValues(model));
+        return primaryKey == null ? null : fromCache(primaryKey);
+    }
+
+    /**
+     * Build a model from the cache by its primary key.
+     *
+     * @param primaryKey values of primary columns
+     * @return a cached model or null if it is not cached
+     */
+    private T fromCache(List<Object> primaryKey) {
+        Object[] fieldsValues = (Object[]) cache.get(modelReflection.getModelClass(), primaryKey);
+        if (fieldsValues == null) {
+            return null;
+        }
+        T cached = modelReflection.getModelFactory().fromFields(fieldsValues);
+        cached.markLoaded(fieldsValues);
+        return identityMap == null ? cached : identityMap.load(cached);
+    }
+
+    /**
+     * Cache models read by this view.
+     *
+     * @param models read models
+     * @param stamp  stamp of the cache taken before reading, see
+     *               {@link EntityCache#stamp(Class)}
+     */
+    private void putCached(Collection<T> models, long stamp) throws SQLException {
+        if (cache == null || !connection.getAutoCommit()) {
+            return;
+        }
+        for (T model : models) {
+            Object[] fieldsValues = modelReflection.getFieldsSupplier().getFieldsValues(model);
+            List<Object> primaryKey = getPrimaryKey(fieldsValues);
+            if (primaryKey != null) {
+                cache.put(modelReflection.getModelClass(), primaryKey, fieldsValues, stamp);
+            }
+        }
+    }
+
+    /**
+     * Invalidate cached models written by this view.
+     *
+     * @param models written models
+     */
+    private void invalidateCached(Collection<T> models) throws SQLException {
+        if (cache == null) {
+            return;
+        }
+        for (T model : models) {
+            List<Object> primaryKey = getPrimaryKey(modelReflection.getFieldsSupplier().getFieldsValues(model));
+            if (primaryKey != null) {
+                invalidate(primaryKey);
+            }
+        }
+    }
+
+    /**
+     * Invalidate a cached model written by this view, remembering its key
+     * until commit if a transaction is open.
+     *
+     * @param primaryKey values of primary columns
+     */
+    private void invalidate(List<Object> primaryKey) throws SQLException {
+        cache.invalidate(modelReflection.getModelClass(), primaryKey);
+        if (!connection.getAutoCommit()) {
+            uncommittedKeys.add(primaryKey);
+        }
+    }
+
+    /**
+     * Forget models written by this view by rows of their primary keys.
+     *
+     * @param keys rows of primary columns
+     */
+    private void forgetKeys(List<Row> keys) throws SQLException {
+        if (identityMap == null && cache == null) {
+            return;
+        }
+        for (List<Object> primaryKey : toPrimaryKeys(keys)) {
+            forgetKey(primaryKey);
+        }
+    }
+
+    /**
+     * Get primary keys from rows of primary columns.
+     *
+     * @param keys rows of primary columns
+     * @return values of primary columns per row
+     */
+    private List<List<Object>> toPrimaryKeys(List<Row> keys) {
+        Column<?, ?>[] primaryColumns = getPrimaryColumns();
+        List<List<Object>> primaryKeys = new ArrayList<>();
+        for (Row row : keys) {
+            List<Object> primaryKey = new ArrayList<>();
+            for (Column<?, ?> column : primaryColumns) {
+                primaryKey.add(row.get(column));
+            }
+            primaryKeys.add(primaryKey);
+        }
+        return primaryKeys;
+    }
+
+    /**
+     * Forget a model written by this view in the identity map and the cache.
+     *
+     * @param primaryKey values of primary columns
+     */
+    private void forgetKey(List<Object> primaryKey) throws SQLException {
+        if (identityMap != null) {
+            identityMap.removeKey(primaryKey);
+        }
+        if (cache != null) {
+            invalidate(primaryKey);
+        }
+    }
+
+    /**
+     * Check if written primary keys must be read to keep the identity map or
+     * the cache consistent. Models without primary columns are never kept
+     * there.
+     *
+     * @return true if keys must be read
+     */
+    private boolean isTrackingKeys() {
+        return (identityMap != null || cache != null) && getPrimaryColumns().length > 0;
+    }
+
+    /**
+     * Get primary columns of the model.
+     *
+     * @return primary columns in order of the table
+     */
+    private Column<?, ?>[] getPrimaryColumns() {
+        return modelReflection.getColumns().values().stream().filter(Column::isPrimary)
+                .toArray(Column<?, ?>[]::new);
+    }
+
+    /**
+     * Get primary key values of a model.
+     *
+     * @param fieldsValues fields values of a model
+     * @return list of primary key values or null if some of them are not set
+     */
+    private List<Object> getPrimaryKey(Object[] fieldsValues) {
+        List<Object> primaryKey = new ArrayList<>();
+        int index = 0;
+        for (Column<?, ?> column : modelReflection.getColumns().values()) {
+            if (column.isPrimary()) {
+                Object value = fieldsValues[index];
+                if (value == null) {
+                    return null;
+                }
+                primaryKey.add(value);
+            }
+            index++;
+        }
+        return primaryKey.isEmpty() ? null : primaryKey;
+    }
+
+    /**
+     * Operation of a view run by {@link View#supplyAsync(ViewOperation)}.
+     */
+    @FunctionalInterface
+    private interface ViewOperation<T extends Model<T>, R> {
+        /**
+         * Run the operation.
+         *
+         * @param view a view with a leased connection
+         * @return result of the operation
+         */
+        R apply(View<T> view) throws SQLException, UnsupportedValueType, UnsupportedSqlType;
+    }
+
+    /**
+     * Writer of a chunk of put models.
+     */
+    @FunctionalInterface
+    private interface ChunkWriter {
+        /**
+         * Write rows of a chunk.
+         *
+         * @param chunk a chunk of rows with the same statement
+         * @return primary keys of written rows, may be null for an upsert
+         */
+        Set<List<Object>> write(PutChunk chunk) throws SQLException, UnsupportedValueType, UnsupportedSqlType;
+    }
+
+    /**
+     * Pending rows of {@link #putMany(Iterable, int)} written by the same
+     * statement: with the same null pattern or the same changed columns.
+     */
+    @RequiredArgsConstructor
+    private static class PutChunk {
+        /**
+         * Changed columns of updated models or {@link SqlTemplates#UNTRACKED}
+         * for upserted models.
+         */
+        private final long changedColumns;
+
+        /**
+         * Pending models.
+         */
+        private final List<Model<?>> models = new ArrayList<>();
+
+        /**
+         * Fields values of pending models.
+         */
+        private final List<Object[]> rows = new ArrayList<>();
+
+        /**
+         * Primary keys of pending models.
+         */
+        private final Set<List<Object>> primaryKeys = new HashSet<>();
     }
 }
@@ -0,0 +1,13 @@
+package fqme.view.exceptions;
+
+import lombok.experimental.StandardException;
+
+/**
+ * Exception thrown when a model cannot be fetched from a lazily iterated
+ * result set.
+ *
+ * @see fqme.view.ModelIterator
+ */
+@StandardException
+public class CannotFetchModel extends RuntimeException {
+}
@@ -0,0 +1,116 @@
+package fqme.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import fqme.utils.LocationModel;
+import fqme.utils.TestModel;
+
+public class EntityCacheTest {
+    @Test
+    void getsPutValues() {
+        EntityCache cache = EntityCache.of(CacheConfig.defaults());
+        Object[] value = { 1, "name" };
+
+        cache.put(TestModel.class, List.of(1), value);
+
+        assertArrayEquals(value, (Object[]) cache.get(TestModel.class, List.of(1)));
+        assertNull(cache.get(TestModel.class, List.of(2)));
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(1, cache.getStats().getMisses());
+    }
+
+    @Test
+    void keepsFrequentValuesOnEviction() {
+        EntityCache cache = EntityCache.of(CacheConfig.defaults().maximumSize(100));
+        for (int id = 0; id < 100; id++) {
+            cache.put(TestModel.class, List.of(id), new Object[] { id });
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int id = 0; id < 10; id++) {
+                cache.get(TestModel.class, List.of(id));
+            }
+        }
+
+        for (int id = 1000; id < 2000; id++) {
+            cache.put(TestModel.class, List.of(id), new Object[] { id });
+        }
+
+        assertEquals(100, cache.getStats().getSize());
+        assertTrue(cache.getStats().getEvictions() >= 1000);
+        for (int id = 0; id < 10; id++) {
+            assertNotNull(cache.get(TestModel.class, List.of(id)));
+        }
+    }
+
+    @Test
+    void evictsByWeight() {
+        EntityCache cache = EntityCache.of(CacheConfig.defaults()
+                .maximumWeight(10, fieldsValues -> ((Object[]) fieldsValues).length));
+
+        cache.put(TestModel.class, List.of(1), new Object[4]);
+        cache.put(TestModel.class, List.of(2), new Object[4]);
+        cache.put(TestModel.class, List.of(3), new Object[4]);
+
+        assertEquals(2, cache.getStats().getSize());
+        assertEquals(8, cache.getStats().getWeight());
+    }
+
+    @Test
+    void expiresValuesAfterTimeToLive() throws InterruptedException {
+        EntityCache cache = EntityCache.of(CacheConfig.defaults().timeToLive(Duration.ofMillis(1)));
+        cache.put(TestModel.class, List.of(1), new Object[] { 1 });
+        cache.put(TestModel.class, List.of(2), new Object[] { 2 });
+
+        Thread.sleep(10);
+
+        assertNull(cache.get(TestModel.class, List.of(1)));
+        cache.cleanUp();
+        assertEquals(0, cache.getStats().getSize());
+    }
+
+    @Test
+    void keepsValuesWithUnboundedTimeToLive() {
+        EntityCache cache = EntityCache.of(CacheConfig.defaults().timeToLive(Duration.ofSeconds(Long.MAX_VALUE)));
+
+        cache.put(TestModel.class, List.of(1), new Object[] { 1 });
+
+        assertNotNull(cache.get(TestModel.class, List.of(1)));
+        assertThrows(IllegalArgumentException.class, () -> CacheConfig.defaults().timeToLive(Duration.ofMillis(-1)));
+    }
+
+    @Test
+    void skipsValuesReadBeforeInvalidation() {
+        EntityCache cache = EntityCache.of(CacheConfig.defaults());
+        long stamp = cache.stamp(TestModel.class);
+
+        cache.invalidate(TestModel.class, List.of(1));
+
+        assertFalse(cache.put(TestModel.class, List.of(1), new Object[] { 1 }, stamp));
+        assertNull(cache.get(TestModel.class, List.of(1)));
+        assertTrue(cache.put(TestModel.class, List.of(1), new Object[] { 1 }, cache.stamp(TestModel.class)));
+        assertNotNull(cache.get(TestModel.class, List.of(1)));
+    }
+
+    @Test
+    void keepsValuesReadBeforeInvalidationOfOtherClass() {
+        EntityCache cache = EntityCache.of(CacheConfig.defaults());
+        long stamp = cache.stamp(TestModel.class);
+
+        cache.invalidate(LocationModel.class, List.of(1));
+
+        assertTrue(cache.put(TestModel.class, List.of(1), new Object[] { 1 }, stamp));
+        cache.invalidateAll();
+        assertFalse(cache.put(TestModel.class, List.of(2), new Object[] { 2 }, stamp));
+    }
+}
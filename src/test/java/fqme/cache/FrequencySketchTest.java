@@ -0,0 +1,45 @@
+package fqme.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class FrequencySketchTest {
+    @Test
+    void countsIncrements() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        for (int count = 0; count < 5; count++) {
+            sketch.increment("hot");
+        }
+        sketch.increment("cold");
+
+        assertEquals(5, sketch.frequency("hot"));
+        assertEquals(1, sketch.frequency("cold"));
+        assertEquals(0, sketch.frequency("unseen"));
+    }
+
+    @Test
+    void saturatesCounters() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        for (int count = 0; count < 100; count++) {
+            sketch.increment("hot");
+        }
+
+        assertEquals(15, sketch.frequency("hot"));
+    }
+
+    @Test
+    void halvesCountersWhenSampleIsFull() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int count = 0; count < 8; count++) {
+            sketch.increment("hot");
+        }
+        // sample size is ten times the cache size
+        for (int key = 0; key < 160; key++) {
+            sketch.increment(key);
+        }
+
+        assertTrue(sketch.frequency("hot") <= 4);
+    }
+}
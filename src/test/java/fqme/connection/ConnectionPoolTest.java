@@ -0,0 +1,115 @@
+package fqme.connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import fqme.utils.FakeConnections;
+
+public class ConnectionPoolTest {
+    private static final String URL = "jdbc:fqme-fake:pool";
+
+    private final AtomicInteger connects = new AtomicInteger();
+
+    private final FakeDriver driver = new FakeDriver();
+
+    @BeforeEach
+    void registerDriver() throws SQLException {
+        DriverManager.registerDriver(driver);
+    }
+
+    @AfterEach
+    void deregisterDriver() throws SQLException {
+        DriverManager.deregisterDriver(driver);
+    }
+
+    @Test
+    void keepsHousekeepingAfterFailure() throws InterruptedException {
+        PoolConfig poolConfig = PoolConfig.defaults().minSize(1).idleTimeout(Duration.ofSeconds(2));
+        try (ConnectionPool pool = new ConnectionPool(new DBConfig(URL, "", ""), poolConfig)) {
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (pool.getStats().getIdle() < 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(1, pool.getStats().getIdle());
+            assertTrue(connects.get() >= 2);
+        }
+    }
+
+    @Test
+    void discardsPhysicalConnectionClosedByBorrower() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool(new DBConfig(URL, "", ""), PoolConfig.defaults())) {
+            connects.set(1);
+            Connection connection = pool.getConnection();
+            Connection physical = connection.unwrap(Connection.class);
+            physical.close();
+            connection.close();
+            assertEquals(0, pool.getStats().getIdle());
+
+            try (Connection next = pool.getConnection()) {
+                assertNotSame(physical, next.unwrap(Connection.class));
+            }
+        }
+    }
+
+    /**
+     * Driver failing with an unchecked exception on the first connect.
+     */
+    private class FakeDriver implements Driver {
+        @Override
+        public Connection connect(String url, Properties info) {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            if (connects.getAndIncrement() == 0) {
+                throw new IllegalStateException("First connect fails");
+            }
+            return FakeConnections.open();
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith("jdbc:fqme-fake:");
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package fqme.connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import org.junit.jupiter.api.Test;
+
+import fqme.utils.FakeConnections;
+
+public class StatementCacheTest {
+    @Test
+    void reusesStatementsOfConnection() throws Exception {
+        Connection connection = FakeConnections.open();
+        PreparedStatement statement = StatementCache.of(connection).prepare("SELECT 1");
+
+        assertSame(StatementCache.of(connection), StatementCache.of(connection));
+        assertSame(statement, StatementCache.of(connection).prepare("SELECT 1"));
+        StatementCache.release(connection);
+        assertTrue(statement.isClosed());
+    }
+
+    @Test
+    void closesEvictedStatements() throws Exception {
+        StatementCache cache = new StatementCache(FakeConnections.open(), 2);
+        PreparedStatement first = cache.prepare("SELECT 1");
+        cache.prepare("SELECT 2");
+        cache.prepare("SELECT 3");
+
+        assertTrue(first.isClosed());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void replacesStatementWithOpenResultSet() throws Exception {
+        StatementCache cache = new StatementCache(FakeConnections.open(), 2);
+        String sql = "SELECT nextval('test_id_seq') FROM generate_series(1, ?)";
+        PreparedStatement reading = cache.prepare(sql);
+        reading.setInt(1, 1);
+        reading.execute();
+
+        PreparedStatement replacing = cache.prepare(sql);
+        assertNotSame(reading, replacing);
+        assertFalse(reading.isClosed());
+
+        reading.getResultSet().close();
+        assertSame(replacing, cache.prepare(sql));
+        assertTrue(reading.isClosed());
+    }
+
+    @Test
+    void releasesClosedConnections() throws Exception {
+        Connection connection = FakeConnections.open();
+        StatementCache.of(connection).prepare("SELECT 1");
+        WeakReference<Connection> reference = new WeakReference<>(connection);
+        connection.close();
+        connection = null;
+
+        StatementCache.of(FakeConnections.open());
+        for (int attempt = 0; attempt < 50 && reference.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+
+    @Test
+    void keepsOpenConnections() throws Exception {
+        Connection connection = FakeConnections.open();
+        PreparedStatement statement = StatementCache.of(connection).prepare("SELECT 1");
+
+        StatementCache.releaseClosed();
+        assertFalse(statement.isClosed());
+        StatementCache.release(connection);
+    }
+}
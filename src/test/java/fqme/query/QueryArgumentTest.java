@@ -0,0 +1,35 @@
+package fqme.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import fqme.utils.TestModel;
+
+public class QueryArgumentTest {
+    @Test
+    void escapesQuotesAndBackslashes() {
+        QueryArgument<?, ?> argument = QueryArgument.of(TestModel.name_, "it's \\' $$ OR 1=1 $$");
+
+        assertEquals("E'it''s \\\\'' $$ OR 1=1 $$'::TEXT", argument.toSqlLiteral());
+    }
+
+    @Test
+    void castsNullsAndArrays() {
+        assertEquals("NULL::TEXT", QueryArgument.of(TestModel.name_, null).toSqlLiteral());
+        assertEquals("ARRAY[E'1'::INTEGER, NULL::INTEGER]::INTEGER[]",
+                QueryArgument.ofArray(TestModel.id_, Arrays.asList(1, null)).toSqlLiteral());
+    }
+
+    @Test
+    void inlinesArgumentsOutsideQuotes() {
+        Query query = new Query("name = ? AND note <> '?'", QueryArgument.of(TestModel.name_, "a'b"))
+                .and(TestModel.id_.in(List.of(1, 2)));
+
+        assertEquals("(name = E'a''b'::TEXT AND note <> '?')"
+                + " AND (id = ANY(ARRAY[E'1'::INTEGER, E'2'::INTEGER]::INTEGER[]))", query.getInlinedWhereClause());
+    }
+}
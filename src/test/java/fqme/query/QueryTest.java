@@ -0,0 +1,71 @@
+package fqme.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import fqme.utils.TestModel;
+
+public class QueryTest {
+    private final Query a = new Query("a = ?", QueryArgument.of(TestModel.name_, "a"));
+
+    private final Query b = new Query("b = ?", QueryArgument.of(TestModel.name_, "b"));
+
+    private final Query c = new Query("c = ?", QueryArgument.of(TestModel.name_, "c"));
+
+    @Test
+    void rendersLeaf() {
+        assertEquals("a = ?", a.getWhereClause());
+        assertEquals(List.of("a"), values(a));
+    }
+
+    @Test
+    void flattensChainsOfSameOperator() {
+        Query query = a.and(b).and(c);
+
+        assertEquals("(a = ?) AND (b = ?) AND (c = ?)", query.getWhereClause());
+        assertEquals(List.of("a", "b", "c"), values(query));
+    }
+
+    @Test
+    void nestsDifferentOperators() {
+        Query query = a.or(b).and(c.not());
+
+        assertEquals("((a = ?) OR (b = ?)) AND (NOT (c = ?))", query.getWhereClause());
+        assertEquals(List.of("a", "b", "c"), values(query));
+    }
+
+    @Test
+    void joinsWithAllAndAny() {
+        assertEquals("(a = ?) AND (b = ?) AND (c = ?)", Query.all(List.of(a, b, c)).getWhereClause());
+        assertEquals("(a = ?) OR (b = ?) OR (c = ?)", Query.any(List.of(a, b, c)).getWhereClause());
+        assertSame(a, Query.any(List.of(a)));
+    }
+
+    @Test
+    void keepsSharedFragmentsIntact() {
+        Query shared = a.or(b);
+        shared.and(c);
+        shared.not();
+
+        assertEquals("(a = ?) OR (b = ?)", shared.getWhereClause());
+        assertEquals(List.of("a", "b"), values(shared));
+    }
+
+    @Test
+    void rendersDeepTrees() {
+        Query query = a;
+        for (int index = 0; index < 100_000; index++) {
+            query = index % 2 == 0 ? query.and(b) : query.not();
+        }
+
+        assertEquals(50_001, query.getWhereArgs().size());
+    }
+
+    private static List<Object> values(Query query) {
+        return query.getWhereArgs().stream().map(QueryArgument::getValue).toList();
+    }
+}
@@ -0,0 +1,57 @@
+package fqme.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import fqme.utils.TestModel;
+
+public class SliceTest {
+    private final LocalDateTime created = LocalDateTime.of(2023, 5, 1, 12, 0);
+
+    @Test
+    void comparesRowValueForSameDirection() {
+        Slice ascending = Slice.orderBy(TestModel.created_.asc(), TestModel.id_.asc());
+        Slice descending = Slice.orderBy(TestModel.created_.desc(), TestModel.id_.desc());
+
+        assertEquals("(created, id) > (?, ?)", ascending.buildKeysetQuery(new Object[] { created, 7 })
+                .getWhereClause());
+        Query query = descending.buildKeysetQuery(new Object[] { created, 7 });
+        assertEquals("(created, id) < (?, ?)", query.getWhereClause());
+        assertEquals(List.of(created, 7), values(query));
+    }
+
+    @Test
+    void expandsMixedDirections() {
+        Slice slice = Slice.orderBy(TestModel.name_.asc(), TestModel.created_.desc(), TestModel.id_.asc());
+
+        Query query = slice.buildKeysetQuery(new Object[] { "Alex", created, 7 });
+
+        assertEquals("(name > ?) OR ((name = ?) AND (created < ?)) OR ((name = ?) AND (created = ?) AND (id > ?))",
+                query.getWhereClause());
+        assertEquals(List.of("Alex", "Alex", created, "Alex", created, 7), values(query));
+    }
+
+    @Test
+    void rejectsValuesNotMatchingOrders() {
+        Slice slice = Slice.orderBy(TestModel.created_.desc(), TestModel.id_.desc());
+
+        assertThrows(IllegalArgumentException.class, () -> slice.buildKeysetQuery(new Object[] { created }));
+        assertThrows(IllegalArgumentException.class, () -> slice.after(created));
+    }
+
+    @Test
+    void rendersOrderByClause() {
+        assertEquals(" ORDER BY created DESC, id ASC",
+                Slice.orderBy(TestModel.created_.desc(), TestModel.id_.asc()).getOrderByClause());
+        assertEquals("", Slice.orderBy().getOrderByClause());
+    }
+
+    private static List<Object> values(Query query) {
+        return query.getWhereArgs().stream().map(QueryArgument::getValue).toList();
+    }
+}
@@ -0,0 +1,398 @@
+package fqme.utils;
+
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * In-memory connections for tests that do not need a database.
+ *
+ * Connections and their statements only track whether they are closed,
+ * autocommit mode, bound parameters, executed sql and transaction commands.
+ * Writes bound as arrays return keys of written rows, and statements may
+ * return given result sets, see
+ * {@link #statement(Object, String, List, Set, Function, AtomicInteger)}.
+ * Other methods return default values.
+ */
+public class FakeConnections {
+    /* Prevent the FakeConnections class from being instantiated. */
+    private FakeConnections() {
+    }
+
+    /**
+     * Create an open connection.
+     *
+     * @return a connection
+     */
+    public static Connection open() {
+        return open(new ArrayList<>());
+    }
+
+    /**
+     * Create an open connection recording executed sql and transaction
+     * commands, such as {@code COMMIT} or {@code SAVEPOINT}.
+     *
+     * @param executed list to add executed and batched sql to
+     * @return a connection
+     */
+    public static Connection open(List<String> executed) {
+        return open(executed, Set.of());
+    }
+
+    /**
+     * Create an open connection recording executed sql and transaction
+     * commands, whose updates do not match rows of some keys, as if the rows
+     * were deleted.
+     *
+     * @param executed list to add executed and batched sql to
+     * @param absent   keys of rows missing in the database
+     * @return a connection
+     */
+    public static Connection open(List<String> executed, Set<Object> absent) {
+        return open(executed, absent, sql -> null);
+    }
+
+    /**
+     * Create an open connection recording executed sql and transaction
+     * commands, whose statements return given results.
+     *
+     * @param executed list to add executed and batched sql to
+     * @param results  results of statements by sql, null for the default
+     *                 result
+     * @return a connection
+     */
+    public static Connection open(List<String> executed, Function<String, ResultSet> results) {
+        return open(executed, Set.of(), results);
+    }
+
+    /**
+     * Create a result set of rows.
+     *
+     * @param labels labels of columns
+     * @param rows   values of rows in order of labels
+     * @return a result set
+     */
+    public static ResultSet resultSet(List<String> labels, List<Object[]> rows) {
+        AtomicInteger row = new AtomicInteger(-1);
+        AtomicBoolean wasNull = new AtomicBoolean();
+        AtomicBoolean closed = new AtomicBoolean();
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+                FakeConnections.class.getClassLoader(), new Class<?>[] { ResultSetMetaData.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return labels.size();
+                        case "getColumnLabel":
+                        case "getColumnName":
+                            return labels.get((Integer) args[0] - 1);
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+        return (ResultSet) Proxy.newProxyInstance(FakeConnections.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return row.incrementAndGet() < rows.size();
+                        case "getMetaData":
+                            return metaData;
+                        case "wasNull":
+                            return wasNull.get();
+                        case "close":
+                            closed.set(true);
+                            return null;
+                        case "isClosed":
+                            return closed.get();
+                        default:
+                            break;
+                    }
+                    if (!method.getName().startsWith("get") || args == null || !(args[0] instanceof Integer)) {
+                        return defaultValue(method.getReturnType());
+                    }
+                    Object value = rows.get(row.get())[(Integer) args[0] - 1];
+                    wasNull.set(value == null);
+                    if (value == null) {
+                        return defaultValue(method.getReturnType());
+                    } else if (method.getReturnType() == int.class) {
+                        return ((Number) value).intValue();
+                    } else if (method.getReturnType() == long.class) {
+                        return ((Number) value).longValue();
+                    } else if (method.getReturnType() == double.class) {
+                        return ((Number) value).doubleValue();
+                    } else if (method.getReturnType() == float.class) {
+                        return ((Number) value).floatValue();
+                    }
+                    return value;
+                });
+    }
+
+    /**
+     * Create an open connection.
+     *
+     * @param executed list to add executed and batched sql to
+     * @param absent   keys of rows not matched by updates
+     * @param results  results of statements by sql
+     * @return a connection
+     */
+    private static Connection open(List<String> executed, Set<Object> absent,
+            Function<String, ResultSet> results) {
+        AtomicBoolean closed = new AtomicBoolean();
+        AtomicBoolean autoCommit = new AtomicBoolean(true);
+        AtomicInteger sequence = new AtomicInteger();
+        return (Connection) Proxy.newProxyInstance(FakeConnections.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            closed.set(true);
+                            return null;
+                        case "isClosed":
+                            return closed.get();
+                        case "isValid":
+                            return !closed.get();
+                        case "getAutoCommit":
+                            return autoCommit.get();
+                        case "setAutoCommit":
+                            autoCommit.set((Boolean) args[0]);
+                            return null;
+                        case "commit":
+                            executed.add("COMMIT");
+                            return null;
+                        case "rollback":
+                            executed.add(args == null ? "ROLLBACK" : "ROLLBACK TO SAVEPOINT");
+                            return null;
+                        case "setSavepoint":
+                            executed.add("SAVEPOINT");
+                            return Proxy.newProxyInstance(FakeConnections.class.getClassLoader(),
+                                    new Class<?>[] { Savepoint.class }, (savepoint, call, callArgs) -> null);
+                        case "releaseSavepoint":
+                            executed.add("RELEASE SAVEPOINT");
+                            return null;
+                        case "unwrap":
+                            if (!((Class<?>) args[0]).isInstance(proxy)) {
+                                throw new SQLException("Not a wrapper");
+                            }
+                            return proxy;
+                        case "prepareStatement":
+                            return statement(proxy, (String) args[0], executed, absent, results, sequence);
+                        case "createStatement":
+                            return plainStatement(proxy, executed);
+                        case "createArrayOf":
+                            return array((Object[]) args[1]);
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "FakeConnection";
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    /**
+     * Create a prepared statement of a connection.
+     *
+     * Inserts and updates write a row per element of their first array
+     * parameter. Statements with RETURNING return a key per written row:
+     * the element itself, or the next value of the sequence if an insert
+     * skips the id column. {@code SELECT nextval(...)} returns as many values
+     * of the sequence as its first parameter. Given results take precedence.
+     *
+     * @param connection a connection
+     * @param sql        sql of the statement
+     * @param executed   list to add executed sql to
+     * @param absent     keys of rows not matched by updates
+     * @param results    results of statements by sql
+     * @param sequence   sequence of generated keys
+     * @return a prepared statement
+     */
+    private static PreparedStatement statement(Object connection, String sql, List<String> executed,
+            Set<Object> absent, Function<String, ResultSet> results, AtomicInteger sequence) {
+        AtomicBoolean closed = new AtomicBoolean();
+        Map<Integer, Object> parameters = new HashMap<>();
+        AtomicReference<ResultSet> result = new AtomicReference<>();
+        boolean returning = sql.contains(" RETURNING ") || sql.startsWith("SELECT nextval(");
+        return (PreparedStatement) Proxy.newProxyInstance(FakeConnections.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            closed.set(true);
+                            return null;
+                        case "isClosed":
+                            return closed.get();
+                        case "clearParameters":
+                            parameters.clear();
+                            return null;
+                        case "execute":
+                        case "executeQuery":
+                        case "executeUpdate":
+                            executed.add(sql);
+                            ResultSet given = results.apply(sql);
+                            List<Object> keys = given != null ? List.of()
+                                    : writtenKeys(sql, parameters, absent, sequence);
+                            result.set(given != null ? given : returning ? keys(keys) : null);
+                            if (method.getName().equals("executeUpdate")) {
+                                return keys.size();
+                            }
+                            return method.getName().equals("execute") ? result.get() != null : result.get();
+                        case "getResultSet":
+                            return result.get();
+                        case "getConnection":
+                            return connection;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            if (method.getName().startsWith("set") && args != null && args.length == 2
+                                    && args[0] instanceof Integer) {
+                                parameters.put((Integer) args[0], method.getName().equals("setNull") ? null : args[1]);
+                                return null;
+                            }
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    /**
+     * Get keys of rows written by a statement.
+     *
+     * @param sql        sql of the statement
+     * @param parameters bound parameters by index
+     * @param absent     keys of rows not matched by updates
+     * @param sequence   sequence of generated keys
+     * @return keys in order of rows
+     */
+    private static List<Object> writtenKeys(String sql, Map<Integer, Object> parameters, Set<Object> absent,
+            AtomicInteger sequence) throws SQLException {
+        List<Object> keys = new ArrayList<>();
+        if (sql.startsWith("SELECT nextval(")) {
+            for (int row = 0; row < (Integer) parameters.get(1); row++) {
+                keys.add(sequence.incrementAndGet());
+            }
+            return keys;
+        }
+        if (!(parameters.get(1) instanceof Array)) {
+            return keys;
+        }
+        boolean generated = sql.startsWith("INSERT ") && !sql.matches("INSERT INTO \\w+ \\(id[,)].*");
+        for (Object element : (Object[]) ((Array) parameters.get(1)).getArray()) {
+            if (generated) {
+                keys.add(sequence.incrementAndGet());
+            } else if (sql.startsWith("INSERT ") || (sql.startsWith("UPDATE ") && !absent.contains(element))) {
+                keys.add(element);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Create a result set of keys.
+     *
+     * @param keys keys in order of rows
+     * @return a result set with a single column
+     */
+    private static ResultSet keys(List<Object> keys) {
+        AtomicInteger row = new AtomicInteger(-1);
+        AtomicBoolean closed = new AtomicBoolean();
+        return (ResultSet) Proxy.newProxyInstance(FakeConnections.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return row.incrementAndGet() < keys.size();
+                        case "getInt":
+                            return ((Number) keys.get(row.get())).intValue();
+                        case "getLong":
+                            return ((Number) keys.get(row.get())).longValue();
+                        case "getObject":
+                            return keys.get(row.get());
+                        case "close":
+                            closed.set(true);
+                            return null;
+                        case "isClosed":
+                            return closed.get();
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    /**
+     * Create a sql array of elements.
+     *
+     * @param elements elements of the array
+     * @return an array
+     */
+    private static Array array(Object[] elements) {
+        return (Array) Proxy.newProxyInstance(FakeConnections.class.getClassLoader(),
+                new Class<?>[] { Array.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("getArray")) {
+                        return elements;
+                    }
+                    return defaultValue(method.getReturnType());
+                });
+    }
+
+    /**
+     * Create a plain statement of a connection.
+     *
+     * @param connection a connection
+     * @param executed   list to add executed and batched sql to
+     * @return a statement
+     */
+    private static Statement plainStatement(Object connection, List<String> executed) {
+        return (Statement) Proxy.newProxyInstance(FakeConnections.class.getClassLoader(),
+                new Class<?>[] { Statement.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "addBatch":
+                        case "execute":
+                        case "executeUpdate":
+                            executed.add((String) args[0]);
+                            return defaultValue(method.getReturnType());
+                        case "executeBatch":
+                            return new int[0];
+                        case "getConnection":
+                            return connection;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    /**
+     * Get default value of a return type.
+     *
+     * @param type a return type
+     * @return zero, false or null
+     */
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
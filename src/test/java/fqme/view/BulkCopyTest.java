@@ -0,0 +1,73 @@
+package fqme.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.postgresql.copy.CopyIn;
+
+public class BulkCopyTest {
+    @Test
+    void escapesSpecialCharacters() {
+        assertEquals("a\\\\b\\tc\\nd\\re", escape("a\\b\tc\nd\re"));
+    }
+
+    @Test
+    void keepsPlainText() {
+        assertEquals("O'Brien $$ ünïcode", escape("O'Brien $$ ünïcode"));
+        assertEquals("", escape(""));
+    }
+
+    @Test
+    void writesNullMarker() {
+        assertEquals("\\N", escape(null));
+        assertEquals("\\\\N", escape("\\N"));
+    }
+
+    @Test
+    void encodesLinesLongerThanBuffer() throws Exception {
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        String line = "ünïcode\t€\n";
+
+        long bytes = BulkCopy.encode(encoder(), line, buffer, copyIn(sent));
+        sent.write(buffer.array(), 0, buffer.position());
+
+        assertEquals(line, sent.toString(StandardCharsets.UTF_8));
+        assertEquals(sent.size() - buffer.position(), bytes);
+    }
+
+    @Test
+    void rejectsUnpairedSurrogate() {
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> BulkCopy.encode(encoder(), "a\uD800b\n", ByteBuffer.allocate(16), copyIn(sent)));
+    }
+
+    private static CharsetEncoder encoder() {
+        return StandardCharsets.UTF_8.newEncoder();
+    }
+
+    private static CopyIn copyIn(ByteArrayOutputStream sent) {
+        return (CopyIn) Proxy.newProxyInstance(BulkCopyTest.class.getClassLoader(), new Class<?>[] { CopyIn.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("writeToCopy")) {
+                        sent.write((byte[]) args[0], (Integer) args[1], (Integer) args[2]);
+                    }
+                    return null;
+                });
+    }
+
+    private static String escape(String text) {
+        StringBuilder line = new StringBuilder();
+        BulkCopy.appendText(line, text);
+        return line.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package fqme.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import fqme.model.Model;
+import fqme.utils.TestModel;
+
+public class IdentityMapTest {
+    private final IdentityMap<TestModel> identityMap = new IdentityMap<>(Model.getModelReflection(TestModel.class));
+
+    @Test
+    void loadsRowAsFirstInstance() {
+        TestModel first = model(1, "first");
+        TestModel second = model(1, "second");
+
+        assertSame(first, identityMap.load(first));
+        assertSame(first, identityMap.load(second));
+        assertSame(first, identityMap.get(model(1, "other")));
+    }
+
+    @Test
+    void skipsModelsWithoutPrimaryKey() {
+        TestModel model = model(null, "new");
+
+        assertSame(model, identityMap.load(model));
+        assertNull(identityMap.get(model));
+        assertEquals(0, identityMap.size());
+    }
+
+    @Test
+    void replacesAndForgetsWrittenModels() {
+        identityMap.load(model(1, "loaded"));
+        TestModel written = model(1, "written");
+
+        identityMap.store(written);
+        assertSame(written, identityMap.get(model(1, "other")));
+        identityMap.remove(written);
+        assertNull(identityMap.get(written));
+    }
+
+    private static TestModel model(Integer id, String name) {
+        return new TestModel(id, name, LocalDateTime.of(2023, 5, 1, 12, 0), 1);
+    }
+}
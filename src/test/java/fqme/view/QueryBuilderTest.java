@@ -0,0 +1,64 @@
+package fqme.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import fqme.model.Model;
+import fqme.query.Query;
+import fqme.query.QueryArgument;
+import fqme.utils.TestModel;
+
+public class QueryBuilderTest {
+    private final QueryBuilder<TestModel> builder = new QueryBuilder<>(Model.getModelReflection(TestModel.class));
+
+    @Test
+    void bindsKeysAsOneArray() {
+        List<Query> queries = builder.fetchPrimaryKeys(List.of(model(1), model(2), model(3)));
+
+        assertEquals(1, queries.size());
+        assertEquals("id = ANY(?)", queries.get(0).getWhereClause());
+        QueryArgument<?, ?> argument = queries.get(0).getWhereArgs().get(0);
+        assertTrue(argument.isArray());
+        assertEquals(List.of(1, 2, 3), argument.getValue());
+    }
+
+    @Test
+    void splitsKeysIntoChunks() {
+        List<TestModel> models = new ArrayList<>();
+        for (int id = 0; id <= QueryBuilder.PRIMARY_KEYS_CHUNK_SIZE; id++) {
+            models.add(model(id));
+        }
+
+        List<Query> queries = builder.fetchPrimaryKeys(models);
+
+        assertEquals(2, queries.size());
+        assertEquals(QueryBuilder.PRIMARY_KEYS_CHUNK_SIZE, keysCount(queries.get(0)));
+        assertEquals(1, keysCount(queries.get(1)));
+    }
+
+    @Test
+    void skipsModelsWithoutKeys() {
+        List<TestModel> models = List.of(model(null), model(7), model(null));
+
+        List<Query> queries = builder.fetchPrimaryKeys(models);
+
+        assertEquals(1, queries.size());
+        assertEquals(List.of(7), queries.get(0).getWhereArgs().get(0).getValue());
+        assertTrue(builder.fetchPrimaryKeys(List.of(model(null))).isEmpty());
+    }
+
+    private static TestModel model(Integer id) {
+        return new TestModel(id, "name", LocalDateTime.of(2023, 5, 1, 12, 0), 1);
+    }
+
+    private static int keysCount(Query query) {
+        return ((Collection<?>) query.getWhereArgs().get(0).getValue()).size();
+    }
+}
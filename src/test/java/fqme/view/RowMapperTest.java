@@ -0,0 +1,47 @@
+package fqme.view;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import fqme.model.Model;
+import fqme.model.reflection.ModelReflection;
+import fqme.utils.FakeConnections;
+import fqme.utils.TestModel;
+
+public class RowMapperTest {
+    private final ModelReflection<TestModel> modelReflection = Model.getModelReflection(TestModel.class);
+
+    @Test
+    void mapsColumnsByPositionOfLabels() throws Exception {
+        LocalDateTime created = LocalDateTime.of(2023, 5, 1, 12, 0);
+        ResultSet resultSet = FakeConnections.resultSet(List.of("LOCATIONID", "name", "created", "id"),
+                List.of(new Object[] { 3, "Alex", Timestamp.valueOf(created), 1 },
+                        new Object[] { 4, "Sam", Timestamp.valueOf(created), 2 }));
+        RowMapper<TestModel> rowMapper = RowMapper.of(modelReflection, resultSet);
+
+        resultSet.next();
+        TestModel first = rowMapper.map(resultSet);
+        resultSet.next();
+        TestModel second = rowMapper.map(resultSet);
+
+        assertEquals(new TestModel(1, "Alex", created, 3), first);
+        assertEquals(new TestModel(2, "Sam", created, 4), second);
+        assertArrayEquals(modelReflection.getFieldsSupplier().getFieldsValues(first), first.loadedValues());
+    }
+
+    @Test
+    void rejectsResultSetWithoutColumnOfModel() {
+        ResultSet resultSet = FakeConnections.resultSet(List.of("id", "name"), List.of());
+
+        assertThrows(SQLException.class, () -> RowMapper.of(modelReflection, resultSet));
+    }
+}
@@ -0,0 +1,108 @@
+package fqme.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import fqme.column.common.numeric.SerialColumn;
+import fqme.connection.ConnectionManager;
+import fqme.connection.DBConfig;
+import fqme.model.Model;
+import fqme.model.reflection.ColumnData;
+import fqme.model.reflection.ModelReflection;
+import fqme.utils.FakeConnections;
+import fqme.utils.LocationModel;
+import fqme.utils.TestModel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+public class SchemaRegistryTest {
+    private final ModelReflection<TestModel> testReflection = Model.getModelReflection(TestModel.class);
+
+    @BeforeEach
+    void bindModels() {
+        Model.register(TestModel.class);
+        Model.register(LocationModel.class);
+        Model.register(OrphanModel.class);
+        ConnectionManager.bind(TestModel.class, new DBConfig("jdbc:fqme-fake:schema", "", ""));
+        SchemaRegistry.reset();
+    }
+
+    @AfterEach
+    void resetSchemas() {
+        SchemaRegistry.reset();
+    }
+
+    @Test
+    void createsBoundAndReferencedTables() throws SQLException {
+        List<String> executed = new ArrayList<>();
+
+        SchemaRegistry.ensureSchema(testReflection, FakeConnections.open(executed));
+
+        List<String> tables = createdTables(executed);
+        assertEquals(2, tables.size());
+        assertTrue(tables.get(0).startsWith("CREATE TABLE IF NOT EXISTS location "));
+        assertTrue(tables.get(1).startsWith("CREATE TABLE IF NOT EXISTS test "));
+    }
+
+    @Test
+    void verifiesTablesOnlyAfterCommit() throws SQLException {
+        List<String> executed = new ArrayList<>();
+        Connection connection = FakeConnections.open(executed);
+
+        connection.setAutoCommit(false);
+        SchemaRegistry.ensureSchema(testReflection, connection);
+        SchemaRegistry.ensureSchema(testReflection, connection);
+        assertEquals(4, createdTables(executed).size());
+
+        connection.setAutoCommit(true);
+        SchemaRegistry.ensureSchema(testReflection, connection);
+        SchemaRegistry.ensureSchema(testReflection, connection);
+        assertEquals(6, createdTables(executed).size());
+    }
+
+    @Test
+    void bootstrapsModelsBoundWithoutRegistering() throws SQLException {
+        List<String> executed = new ArrayList<>();
+        DBConfig dbConfig = new DBConfig("jdbc:fqme-fake:bootstrap", "", "");
+        ConnectionManager.bind(TestModel.class, dbConfig);
+        ConnectionManager.bind(UnregisteredModel.class, dbConfig);
+
+        SchemaRegistry.bootstrap(dbConfig, FakeConnections.open(executed));
+
+        List<String> tables = createdTables(executed);
+        assertEquals(3, tables.size());
+        assertTrue(tables.stream().anyMatch(sql -> sql.startsWith("CREATE TABLE IF NOT EXISTS unregistered ")));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UnregisteredModel extends Model<UnregisteredModel> {
+        @ColumnData
+        private Integer id;
+        public static final SerialColumn id_ = SerialColumn.of("id").primary();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrphanModel extends Model<OrphanModel> {
+        @ColumnData
+        private Integer id;
+        public static final SerialColumn id_ = SerialColumn.of("id").primary();
+    }
+
+    private static List<String> createdTables(List<String> executed) {
+        return executed.stream().filter(sql -> sql.startsWith("CREATE TABLE")).toList();
+    }
+}
@@ -0,0 +1,162 @@
+package fqme.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import fqme.column.common.BooleanColumn;
+import fqme.column.common.DateTimeColumn;
+import fqme.column.common.StringColumn;
+import fqme.model.Model;
+import fqme.model.reflection.ColumnData;
+import fqme.model.reflection.Index;
+import fqme.query.Assignment;
+import fqme.utils.TestModel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+public class SqlTemplatesTest {
+    private final SqlTemplates<TestModel> templates = SqlTemplates.of(Model.getModelReflection(TestModel.class));
+
+    private final SqlTemplates<EventModel> eventTemplates = SqlTemplates.of(Model.getModelReflection(EventModel.class));
+
+    @Test
+    void rendersMultiRowUpsert() {
+        assertEquals("INSERT INTO test (name, created, locationId)"
+                + " SELECT * FROM unnest(?::TEXT[], ?::TIMESTAMP[], ?::INTEGER[])"
+                + " ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, created = EXCLUDED.created,"
+                + " locationId = EXCLUDED.locationId RETURNING *", templates.getPutSql(1));
+    }
+
+    @Test
+    void rendersReturningModes() {
+        String insert = "INSERT INTO test (id, name, created, locationId)"
+                + " SELECT * FROM unnest(?::INTEGER[], ?::TEXT[], ?::TIMESTAMP[], ?::INTEGER[])"
+                + " ON CONFLICT (id) DO UPDATE SET id = EXCLUDED.id, name = EXCLUDED.name,"
+                + " created = EXCLUDED.created, locationId = EXCLUDED.locationId";
+
+        assertEquals(insert + " RETURNING *", templates.getPutSql(0, Returning.ALL));
+        assertEquals(insert + " RETURNING id", templates.getPutSql(0, Returning.KEYS));
+        assertEquals(insert, templates.getPutSql(0, Returning.NONE));
+        assertEquals("DELETE FROM test WHERE id = ? RETURNING id", templates.getDeleteSql("id = ?", Returning.KEYS));
+        assertEquals("UPDATE test SET name = ? WHERE id = ?",
+                templates.getUpdateWhereSql(new Assignment[] { TestModel.name_.set("Alex") }, "id = ?",
+                        Returning.NONE));
+    }
+
+    @Test
+    void rendersUpdateWithTypedValues() {
+        String update = "UPDATE test SET name = fqme_values.name FROM unnest(?::INTEGER[], ?::TEXT[])"
+                + " AS fqme_values (id, name) WHERE test.id = fqme_values.id";
+
+        assertEquals(update + " RETURNING test.*", templates.getUpdateSql(1L << 1, Returning.ALL));
+        assertEquals(update + " RETURNING test.id", templates.getUpdateSql(1L << 1, Returning.KEYS));
+        assertEquals(update, templates.getUpdateSql(1L << 1, Returning.NONE));
+    }
+
+    @Test
+    void rejectsKeysOfModelWithoutPrimaryColumns() {
+        assertEquals("INSERT INTO event (name, created) SELECT * FROM unnest(?::TEXT[], ?::TIMESTAMP[])",
+                eventTemplates.getPutSql(0, Returning.NONE));
+        assertThrows(IllegalArgumentException.class, () -> eventTemplates.getPutSql(0, Returning.KEYS));
+        assertThrows(IllegalArgumentException.class, () -> eventTemplates.getDeleteSql("name = ?", Returning.KEYS));
+        assertThrows(IllegalArgumentException.class, () -> eventTemplates.getUpdateWhereSql(
+                new Assignment[] { EventModel.name_.set("a") }, "name = ?", Returning.KEYS));
+    }
+
+    @Test
+    void rendersCreateIndexes() {
+        assertEquals(List.of("CREATE INDEX IF NOT EXISTS event_name_idx ON event (name)",
+                "CREATE INDEX IF NOT EXISTS event_created_brin_idx ON event USING BRIN (created)"),
+                eventTemplates.getCreateIndexesSql());
+    }
+
+    @Test
+    void rendersDeclaredIndexVariants() {
+        assertEquals(List.of(
+                "CREATE UNIQUE INDEX IF NOT EXISTS account_email_idx ON account USING BTREE (email) WHERE active",
+                "CREATE INDEX IF NOT EXISTS account_email_text_pattern_ops_idx ON account USING BTREE"
+                        + " (email text_pattern_ops)",
+                "CREATE INDEX IF NOT EXISTS account_lookup ON account USING HASH (name)"),
+                SqlTemplates.of(Model.getModelReflection(AccountModel.class)).getCreateIndexesSql());
+        assertThrows(IllegalArgumentException.class,
+                () -> SqlTemplates.of(Model.getModelReflection(BrokenIndexModel.class)));
+    }
+
+    @Test
+    void rendersKeyReservation() {
+        assertEquals("SELECT nextval(pg_get_serial_sequence('test', 'id')) AS id FROM generate_series(1, ?)",
+                templates.getNextKeysSql(1));
+        assertThrows(IllegalArgumentException.class, () -> eventTemplates.getNextKeysSql(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> SqlTemplates.of(Model.getModelReflection(TagModel.class)).getNextKeysSql(1));
+    }
+
+    @Test
+    void keepsRecentUpdateStatementsWhenFull() {
+        for (long changedColumns = 1; changedColumns <= 1000; changedColumns++) {
+            templates.getUpdateSql(changedColumns << 1, Returning.NONE);
+        }
+        assertSame(templates.getUpdateSql(1000L << 1, Returning.NONE),
+                templates.getUpdateSql(1000L << 1, Returning.NONE));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Index(columns = "created", method = Index.Method.BRIN)
+    public static class EventModel extends Model<EventModel> {
+        @ColumnData
+        private String name;
+        public static final StringColumn name_ = StringColumn.of("name").indexed();
+
+        @ColumnData
+        private LocalDateTime created;
+        public static final DateTimeColumn created_ = DateTimeColumn.of("created");
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Index(columns = "email", unique = true, where = "active")
+    @Index(columns = "email", operatorClass = "text_pattern_ops")
+    @Index(columns = "name", method = Index.Method.HASH, name = "account_lookup")
+    public static class AccountModel extends Model<AccountModel> {
+        @ColumnData
+        private String name;
+        public static final StringColumn name_ = StringColumn.of("name");
+
+        @ColumnData
+        private String email;
+        public static final StringColumn email_ = StringColumn.of("email");
+
+        @ColumnData
+        private Boolean active;
+        public static final BooleanColumn active_ = BooleanColumn.of("active");
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Index(columns = "missing")
+    public static class BrokenIndexModel extends Model<BrokenIndexModel> {
+        @ColumnData
+        private String name;
+        public static final StringColumn name_ = StringColumn.of("name");
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TagModel extends Model<TagModel> {
+        @ColumnData
+        private String code;
+        public static final StringColumn code_ = StringColumn.of("code").primary();
+    }
+}
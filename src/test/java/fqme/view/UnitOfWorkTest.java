@@ -0,0 +1,105 @@
+package fqme.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import fqme.cache.CacheConfig;
+import fqme.cache.EntityCache;
+import fqme.connection.ConnectionManager;
+import fqme.connection.DBConfig;
+import fqme.utils.FakeConnections;
+import fqme.utils.TestModel;
+
+public class UnitOfWorkTest {
+    private final List<String> executed = new ArrayList<>();
+
+    private final Connection connection = FakeConnections.open(executed);
+
+    @BeforeEach
+    void bindModels() {
+        ConnectionManager.bind(TestModel.class, new DBConfig("jdbc:fqme-fake:unit", "", ""));
+    }
+
+    @Test
+    void assignsGeneratedKeys() throws Exception {
+        TestModel first = model(null);
+        TestModel second = model(null);
+
+        new UnitOfWork(connection).putAll(List.of(first, second)).commit();
+
+        assertEquals(1, first.getId());
+        assertEquals(2, second.getId());
+        assertTrue(executed.contains(
+                "SELECT nextval(pg_get_serial_sequence('test', 'id')) AS id FROM generate_series(1, ?)"));
+        assertTrue(executed.stream().anyMatch(sql -> sql.startsWith("INSERT INTO test (id, name, created, locationId) ")
+                && !sql.contains(" RETURNING ")));
+        assertEquals("COMMIT", executed.get(executed.size() - 1));
+        assertTrue(connection.getAutoCommit());
+    }
+
+    @Test
+    void clearsGeneratedKeysOnRollback() throws Exception {
+        TestModel model = model(null);
+        UnitOfWork unit = new UnitOfWork(connection).put(model);
+
+        unit.flush();
+        assertEquals(1, model.getId());
+        assertFalse(connection.getAutoCommit());
+        unit.rollback();
+
+        assertNull(model.getId());
+        assertEquals("ROLLBACK", executed.get(executed.size() - 1));
+        assertTrue(connection.getAutoCommit());
+    }
+
+    @Test
+    void usesSavepointInTransactionOfCaller() throws Exception {
+        connection.setAutoCommit(false);
+
+        new UnitOfWork(connection).delete(model(5)).commit();
+
+        List<String> unitCommands = executed.subList(executed.indexOf("SAVEPOINT"), executed.size());
+        assertTrue(unitCommands.stream().anyMatch(sql -> sql.startsWith("DELETE FROM test")));
+        assertEquals("RELEASE SAVEPOINT", unitCommands.get(unitCommands.size() - 1));
+        assertFalse(unitCommands.contains("COMMIT"));
+        assertFalse(connection.getAutoCommit());
+    }
+
+    @Test
+    void rejectsPutAndDeleteOfSameKey() {
+        UnitOfWork unit = new UnitOfWork(connection).put(model(5)).delete(model(6)).put(model(null));
+
+        assertThrows(IllegalArgumentException.class, () -> unit.delete(model(5)));
+        assertThrows(IllegalArgumentException.class, () -> unit.put(model(6)));
+        assertEquals(3, unit.size());
+    }
+
+    @Test
+    void invalidatesCacheAfterCommit() throws Exception {
+        EntityCache cache = EntityCache.of(CacheConfig.defaults());
+        cache.put(TestModel.class, List.of(5), new Object[] { 5 });
+        UnitOfWork unit = new UnitOfWork(connection).withCache(cache).delete(model(5));
+
+        unit.flush();
+        assertNotNull(cache.get(TestModel.class, List.of(5)));
+        unit.commit();
+
+        assertNull(cache.get(TestModel.class, List.of(5)));
+    }
+
+    private static TestModel model(Integer id) {
+        return new TestModel(id, "name", LocalDateTime.of(2023, 5, 1, 12, 0), 1);
+    }
+}
@@ -0,0 +1,150 @@
+package fqme.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import fqme.connection.ConnectionManager;
+import fqme.connection.DBConfig;
+import fqme.utils.FakeConnections;
+import fqme.utils.TestModel;
+
+public class ViewAsyncTest {
+    private static final String URL = "jdbc:fqme-async:view";
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2023, 5, 1, 12, 0);
+
+    private final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<Connection> connections = Collections.synchronizedList(new ArrayList<>());
+
+    private final FakeDriver driver = new FakeDriver();
+
+    private Connection connection;
+
+    @BeforeEach
+    void registerDriver() throws SQLException {
+        DriverManager.registerDriver(driver);
+        ConnectionManager.bind(TestModel.class, new DBConfig(URL, "", ""));
+        connection = FakeConnections.open();
+    }
+
+    @AfterEach
+    void deregisterDriver() throws SQLException {
+        DriverManager.deregisterDriver(driver);
+    }
+
+    @Test
+    void getsModelsOnConnectionOfOperation() throws Exception {
+        View<TestModel> view = View.of(TestModel.class, connection);
+
+        Set<TestModel> models = view.getManyAsync(TestModel.id_.eq(1)).get();
+
+        assertEquals(Set.of(new TestModel(1, "name", CREATED, 1)), models);
+        assertEquals(1, connections.size());
+        assertNotSame(connection, connections.get(0));
+        assertTrue(connections.get(0).isClosed());
+        assertTrue(executed.stream().anyMatch(sql -> sql.startsWith("SELECT")));
+    }
+
+    @Test
+    void putsModelsOnExecutor() throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        View<TestModel> view = View.of(TestModel.class, connection).withExecutor(task -> {
+            Thread thread = new Thread(task);
+            threads.add(thread);
+            thread.start();
+        });
+
+        view.putManyAsync(List.of(new TestModel(2, "name", CREATED, 1))).get();
+
+        assertEquals(1, threads.size());
+        assertTrue(executed.stream().anyMatch(sql -> sql.startsWith("INSERT INTO test")));
+        assertTrue(connections.get(0).isClosed());
+    }
+
+    @Test
+    void completesExceptionallyOnDatabaseError() throws Exception {
+        View<TestModel> view = View.of(TestModel.class, connection);
+        DriverManager.deregisterDriver(driver);
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> view.deleteManyAsync(TestModel.id_.eq(1)).join());
+
+        assertInstanceOf(SQLException.class, error.getCause());
+    }
+
+    /**
+     * Driver opening fake connections, whose reads return one row.
+     */
+    private class FakeDriver implements Driver {
+        @Override
+        public Connection connect(String url, Properties info) {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            Object[] row = { 1, "name", Timestamp.valueOf(CREATED), 1 };
+            Connection opened = FakeConnections.open(executed, sql -> {
+                if (!sql.startsWith("SELECT") && !sql.contains(" RETURNING ")) {
+                    return null;
+                }
+                return FakeConnections.resultSet(List.of("id", "name", "created", "locationId"),
+                        List.<Object[]>of(row));
+            });
+            connections.add(opened);
+            return opened;
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith("jdbc:fqme-async:");
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
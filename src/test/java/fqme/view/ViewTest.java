@@ -0,0 +1,286 @@
+package fqme.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import fqme.cache.CacheConfig;
+import fqme.cache.EntityCache;
+import fqme.connection.ConnectionManager;
+import fqme.connection.DBConfig;
+import fqme.model.Model;
+import fqme.query.Aggregate;
+import fqme.query.Query;
+import fqme.utils.FakeConnections;
+import fqme.utils.LocationModel;
+import fqme.utils.TestModel;
+
+public class ViewTest {
+    private final List<String> executed = new ArrayList<>();
+
+    private final Connection connection = FakeConnections.open(executed);
+
+    @BeforeEach
+    void bindModels() {
+        DBConfig dbConfig = new DBConfig("jdbc:fqme-fake:view", "", "");
+        ConnectionManager.bind(TestModel.class, dbConfig);
+        ConnectionManager.bind(LocationModel.class, dbConfig);
+    }
+
+    @Test
+    void loadReferencedReadsCache() throws Exception {
+        EntityCache cache = EntityCache.of(CacheConfig.defaults());
+        cache.put(LocationModel.class, List.of(7), new Object[] { 7, "home", 1, 2 });
+        View<TestModel> view = View.of(TestModel.class, connection).withCache(cache);
+        List<TestModel> models = List.of(model(1, 7), model(2, 7));
+
+        Map<Integer, LocationModel> locations = view.loadReferenced(models, TestModel.locationId_,
+                LocationModel.class);
+
+        assertEquals(Map.of(7, new LocationModel(7, "home", 1, 2)), locations);
+        assertTrue(executed.stream().noneMatch(sql -> sql.startsWith("SELECT")));
+    }
+
+    @Test
+    void putManyKeepsOrderOfKeyRepeatedAcrossChunks() throws Exception {
+        TestModel updated = loaded(5);
+        updated.setName("updated");
+        TestModel inserted = model(5, 1);
+
+        View.of(TestModel.class, connection).putManyCount(List.of(updated, inserted));
+
+        List<String> writes = writes();
+        assertEquals(2, writes.size());
+        assertTrue(writes.get(0).startsWith("UPDATE test SET name = "));
+        assertTrue(writes.get(1).startsWith("INSERT INTO test "));
+    }
+
+    @Test
+    void putManyKeepsOrderOfKeyRepeatedAcrossChangedColumns() throws Exception {
+        TestModel first = loaded(5);
+        first.setCreated(LocalDateTime.of(2024, 1, 1, 0, 0));
+        TestModel second = loaded(5);
+        second.setName("updated");
+
+        View.of(TestModel.class, connection).putManyCount(List.of(first, second));
+
+        List<String> writes = writes();
+        assertEquals(2, writes.size());
+        assertTrue(writes.get(0).startsWith("UPDATE test SET created = "));
+        assertTrue(writes.get(1).startsWith("UPDATE test SET name = "));
+    }
+
+    @Test
+    void putManySharesStatementAcrossChunkSizes() throws Exception {
+        View.of(TestModel.class, connection).putManyCount(List.of(model(1, 1), model(2, 1), model(3, 1)), 2);
+
+        List<String> writes = writes();
+        assertEquals(2, writes.size());
+        assertEquals(writes.get(0), writes.get(1));
+    }
+
+    @Test
+    void identityMapServesLoadedModelsWithoutQuery() throws Exception {
+        Object[] row = { 1, "name", Timestamp.valueOf(LocalDateTime.of(2023, 5, 1, 12, 0)), 1 };
+        Connection connection = FakeConnections.open(executed, sql -> sql.startsWith("SELECT")
+                ? FakeConnections.resultSet(List.of("id", "name", "created", "locationId"), List.<Object[]>of(row))
+                : null);
+        View<TestModel> view = View.of(TestModel.class, connection).withIdentityMap();
+
+        TestModel loaded = view.get(model(1, 1)).orElseThrow();
+        executed.clear();
+
+        assertSame(loaded, view.get(model(1, 1)).orElseThrow());
+        assertSame(loaded, view.getMany(Set.of(model(1, 1))).iterator().next());
+        assertTrue(executed.isEmpty());
+    }
+
+    @Test
+    void commitInvalidatesModelsCachedDuringTransaction() throws Exception {
+        EntityCache cache = EntityCache.of(CacheConfig.defaults());
+        View<TestModel> view = View.of(TestModel.class, connection).withCache(cache);
+        connection.setAutoCommit(false);
+
+        view.putManyCount(List.of(model(5, 1)));
+        cache.put(TestModel.class, List.of(5), new Object[] { 5, "committed", null, 1 });
+        assertNotNull(cache.get(TestModel.class, List.of(5)));
+        view.commit();
+
+        assertTrue(executed.contains("COMMIT"));
+        assertNull(cache.get(TestModel.class, List.of(5)));
+    }
+
+    @Test
+    void skipsCachingReadsInTransaction() throws Exception {
+        Object[] row = { 1, "name", Timestamp.valueOf(LocalDateTime.of(2023, 5, 1, 12, 0)), 1 };
+        Connection connection = FakeConnections.open(executed, sql -> sql.startsWith("SELECT")
+                ? FakeConnections.resultSet(List.of("id", "name", "created", "locationId"), List.<Object[]>of(row))
+                : null);
+        EntityCache cache = EntityCache.of(CacheConfig.defaults());
+        View<TestModel> view = View.of(TestModel.class, connection).withCache(cache);
+
+        connection.setAutoCommit(false);
+        view.get(model(1, 1));
+        assertEquals(0, cache.getStats().getSize());
+        connection.setAutoCommit(true);
+        view.get(model(1, 1));
+        assertEquals(1, cache.getStats().getSize());
+    }
+
+    @Test
+    void selectReadsOnlyGivenColumns() throws Exception {
+        Query query = TestModel.name_.eq("name");
+        Connection connection = FakeConnections.open(executed, sql -> FakeConnections.resultSet(
+                List.of("id", "name"), List.of(new Object[] { 1, "first" }, new Object[] { 2, "second" })));
+
+        List<Row> rows = View.of(TestModel.class, connection).select(query, TestModel.id_, TestModel.name_);
+
+        assertEquals("SELECT id, name FROM test WHERE " + query.getWhereClause(), executed.get(executed.size() - 1));
+        assertEquals(2, rows.size());
+        assertEquals(1, rows.get(0).get(TestModel.id_));
+        assertEquals("second", rows.get(1).get(TestModel.name_));
+        assertEquals("first", rows.get(0).get("name"));
+        assertEquals(2, rows.get(0).size());
+    }
+
+    @Test
+    void aggregatesGroupsInDatabase() throws Exception {
+        Query query = TestModel.name_.eq("name");
+        Connection connection = FakeConnections.open(executed, sql -> FakeConnections.resultSet(
+                List.of("locationId", "count", "max_name"),
+                List.of(new Object[] { 1, 3L, "last" }, new Object[] { 2, 1L, "only" })));
+
+        List<Row> rows = View.of(TestModel.class, connection).groupBy(TestModel.locationId_)
+                .aggregate(query, Aggregate.count(), Aggregate.max(TestModel.name_));
+
+        assertEquals("SELECT locationId, COUNT(*) AS count, MAX(name) AS max_name FROM test WHERE "
+                + query.getWhereClause() + " GROUP BY locationId", executed.get(executed.size() - 1));
+        assertEquals(2, rows.size());
+        assertEquals(1, rows.get(0).get(TestModel.locationId_));
+        assertEquals(3, rows.get(0).getLong(Aggregate.count()));
+        assertEquals("only", rows.get(1).get(Aggregate.max(TestModel.name_)));
+    }
+
+    @Test
+    void aggregatesOfNoModelsAreNull() throws Exception {
+        Connection connection = FakeConnections.open(executed, sql -> FakeConnections.resultSet(
+                List.of(sql.contains("COUNT") ? "count" : "avg_id"),
+                List.<Object[]>of(new Object[] { sql.contains("COUNT") ? 0L : null })));
+        View<TestModel> view = View.of(TestModel.class, connection);
+
+        assertEquals(0, view.count(TestModel.name_.eq("missing")));
+        assertNull(view.avg(TestModel.id_, TestModel.name_.eq("missing")));
+        assertTrue(executed.get(executed.size() - 1).startsWith("SELECT AVG(id) AS avg_id FROM test WHERE "));
+    }
+
+    @Test
+    void putSkipsUnchangedLoadedModel() throws Exception {
+        assertEquals(0, View.of(TestModel.class, connection).putManyCount(List.of(loaded(5))));
+
+        assertTrue(writes().isEmpty());
+    }
+
+    @Test
+    void putUpdatesOnlyChangedColumns() throws Exception {
+        TestModel updated = loaded(5);
+        updated.setName("updated");
+
+        assertEquals(1, View.of(TestModel.class, connection).putManyCount(List.of(updated)));
+
+        assertEquals(List.of("UPDATE test SET name = fqme_values.name FROM unnest(?::INTEGER[], ?::TEXT[])"
+                + " AS fqme_values (id, name) WHERE test.id = fqme_values.id RETURNING test.id"), writes());
+    }
+
+    @Test
+    void putInsertsDeletedModelBack() throws Exception {
+        TestModel model = loaded(5);
+        View<TestModel> view = View.of(TestModel.class, connection);
+
+        view.deleteManyCount(List.of(model));
+        view.putManyCount(List.of(model));
+
+        assertEquals(1, writes().size());
+        assertTrue(writes().get(0).startsWith("INSERT INTO test (id, name, created, locationId) "));
+    }
+
+    @Test
+    void putUpsertsRowsMissedByUpdate() throws Exception {
+        Connection connection = FakeConnections.open(executed, Set.of(5));
+        TestModel missing = loaded(5);
+        missing.setName("updated");
+        TestModel present = loaded(6);
+        present.setName("updated");
+
+        assertEquals(2, View.of(TestModel.class, connection).putManyCount(List.of(missing, present)));
+
+        List<String> writes = writes();
+        assertEquals(2, writes.size());
+        assertTrue(writes.get(0).startsWith("UPDATE test SET name = fqme_values.name "));
+        assertTrue(writes.get(1).startsWith("INSERT INTO test (id, name, created, locationId) "));
+        assertEquals(List.of("updated", "updated"), List.of(missing.loadedValues()[1], present.loadedValues()[1]));
+    }
+
+    @Test
+    void updateManyAssignsColumnsInOneStatement() throws Exception {
+        Query query = TestModel.locationId_.eq(1);
+        Connection connection = FakeConnections.open(executed, sql -> sql.startsWith("UPDATE")
+                ? FakeConnections.resultSet(List.of("id"), List.of(new Object[] { 1 }, new Object[] { 2 }))
+                : null);
+        EntityCache cache = EntityCache.of(CacheConfig.defaults());
+        cache.put(TestModel.class, List.of(2), new Object[] { 2, "name", null, 1 });
+
+        long count = View.of(TestModel.class, connection).withCache(cache)
+                .updateManyCount(query, TestModel.name_.set("renamed"), TestModel.locationId_.set(2));
+
+        assertEquals(2, count);
+        assertEquals(List.of("UPDATE test SET name = ?, locationId = ? WHERE " + query.getWhereClause()
+                + " RETURNING id"), writes());
+        assertNull(cache.get(TestModel.class, List.of(2)));
+    }
+
+    @Test
+    void assignKeysRejectsMissingReservedKeys() throws Exception {
+        Connection connection = FakeConnections.open(executed, sql -> sql.startsWith("SELECT nextval(")
+                ? FakeConnections.resultSet(List.of("id"), List.<Object[]>of(new Object[] { 7 }))
+                : null);
+        TestModel first = model(null, 1);
+        TestModel second = model(null, 1);
+
+        assertThrows(SQLException.class,
+                () -> View.of(TestModel.class, connection).putManyAssignKeys(List.of(first, second)));
+
+        assertTrue(writes().isEmpty());
+        assertNull(first.getId());
+    }
+
+    private List<String> writes() {
+        return executed.stream().filter(sql -> sql.startsWith("INSERT") || sql.startsWith("UPDATE"))
+                .collect(Collectors.toList());
+    }
+
+    private static TestModel loaded(int id) {
+        TestModel model = model(id, 1);
+        model.markLoaded(Model.getModelReflection(TestModel.class).getFieldsSupplier().getFieldsValues(model).clone());
+        return model;
+    }
+
+    private static TestModel model(Integer id, int locationId) {
+        return new TestModel(id, "name", LocalDateTime.of(2023, 5, 1, 12, 0), locationId);
+    }
+}